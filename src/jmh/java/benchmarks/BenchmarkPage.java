@@ -0,0 +1,55 @@
+package benchmarks;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import pages.BasePage;
+
+// Exposes the BasePage helpers the page objects use, so their overhead can be benchmarked directly
+public class BenchmarkPage extends BasePage {
+
+    public BenchmarkPage(WebDriver driver) {
+        super(driver);
+    }
+
+    public void clickElement(WebElement element) {
+        click(element);
+    }
+
+    public void type(WebElement element, String text) {
+        sendKeys(element, text);
+    }
+
+    public void awaitVisible(WebElement element) {
+        waitForElementToBeVisible(element);
+    }
+
+    public void awaitClickable(WebElement element) {
+        waitForElementToBeClickable(element);
+    }
+
+    public void awaitShop() {
+        waitForShopToLoad();
+    }
+
+    public void awaitPageComplete() {
+        waitForPageToLoadCompletely();
+    }
+
+    public List<String> fill(Map<String, Object> fields, Set<String> typedFields) {
+        return fillForm(fields, typedFields);
+    }
+
+    public Map<String, Object> rows(String rowSelector, Map<String, String> fields) {
+        return extractRows(rowSelector, fields, Collections.emptyMap());
+    }
+
+    public Optional<WebElement> first(By... locators) {
+        return findFirstOf(locators);
+    }
+}
@@ -0,0 +1,40 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.DriverServices;
+import utils.WebDriverFactory;
+
+/**
+ * Time to create and quit a driver for the configured browser. The warmup iterations pay for
+ * binary resolution and (with driver.sharedService) the driver service start, so the measured
+ * iterations are the warm launch cost a test sees when it creates a driver.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DriverCreationBenchmark {
+
+    @Benchmark
+    public void createAndQuit() {
+        WebDriverFactory.createDriver().quit();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServices() {
+        DriverServices.shutdown();
+    }
+}
@@ -0,0 +1,111 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Batched versus per-command page work: filling the registration form through fillForm (one
+ * script call) or field by field, and reading the search results through extractRows (one
+ * script call) or one getText/getAttribute per field.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormAndExtractionBenchmark {
+    private static final Map<String, Object> REGISTRATION = new LinkedHashMap<>();
+    private static final Map<String, String> RESULT_FIELDS = new LinkedHashMap<>();
+
+    static {
+        REGISTRATION.put("id_gender", "1");
+        REGISTRATION.put("firstname", "John");
+        REGISTRATION.put("lastname", "Doe");
+        REGISTRATION.put("email", "john.doe@example.com");
+        REGISTRATION.put("password", "Str0ng!Passw0rd");
+        REGISTRATION.put("birthday", "1990-05-15");
+        REGISTRATION.put("optin", true);
+        REGISTRATION.put("psgdpr", true);
+        REGISTRATION.put("customer_privacy", true);
+
+        RESULT_FIELDS.put("name", ".product-title a");
+        RESULT_FIELDS.put("price", ".price");
+        RESULT_FIELDS.put("url", ".product-title a");
+        RESULT_FIELDS.put("image", "img");
+    }
+
+    @State(Scope.Benchmark)
+    public static class RegistrationForm extends StandInSession {
+        @Override
+        protected String path() {
+            return "registration";
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class SearchResults extends StandInSession {
+        @Override
+        protected String path() {
+            return "search?s=notebook";
+        }
+    }
+
+    @Benchmark
+    public List<String> fillFormBatched(RegistrationForm form) {
+        return form.page.fill(REGISTRATION, Collections.emptySet());
+    }
+
+    @Benchmark
+    public void fillFormPerField(RegistrationForm form) {
+        for (Map.Entry<String, Object> field : REGISTRATION.entrySet()) {
+            Object value = field.getValue();
+            if (value instanceof Boolean) {
+                WebElement checkbox = form.driver.findElement(By.name(field.getKey()));
+                if (checkbox.isSelected() != (Boolean) value) {
+                    checkbox.click();
+                }
+            } else if ("id_gender".equals(field.getKey())) {
+                form.driver.findElement(By.cssSelector("input[name='id_gender'][value='" + value + "']")).click();
+            } else {
+                WebElement input = form.driver.findElement(By.name(field.getKey()));
+                input.clear();
+                input.sendKeys(String.valueOf(value));
+            }
+        }
+    }
+
+    @Benchmark
+    public Map<String, Object> extractRowsSnapshot(SearchResults results) {
+        return results.page.rows(".products article", RESULT_FIELDS);
+    }
+
+    @Benchmark
+    public List<Map<String, String>> extractPerElement(SearchResults results) {
+        List<Map<String, String>> rows = new ArrayList<>();
+        for (WebElement article : results.driver.findElements(By.cssSelector(".products article"))) {
+            WebElement link = article.findElement(By.cssSelector(".product-title a"));
+            Map<String, String> row = new LinkedHashMap<>();
+            row.put("name", link.getText());
+            row.put("price", article.findElement(By.cssSelector(".price")).getText());
+            row.put("url", link.getAttribute("href"));
+            row.put("image", article.findElement(By.tagName("img")).getAttribute("src"));
+            rows.add(row);
+        }
+        return rows;
+    }
+}
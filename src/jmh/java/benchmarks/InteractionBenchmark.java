@@ -0,0 +1,101 @@
+package benchmarks;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import utils.AdaptiveWait;
+
+/**
+ * Cost of the BasePage interaction helpers (a click or sendKeys including its wait and step
+ * timing) next to the bare WebDriver call, and of each wait strategy on a page that is already
+ * in the state it waits for, which is the framework's floor for every step.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InteractionBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class RegistrationForm extends StandInSession {
+        WebElement gender;
+        WebElement firstName;
+        By firstNameLocator = By.name("firstname");
+
+        @Override
+        protected String path() {
+            return "registration";
+        }
+
+        @Override
+        protected void opened() {
+            gender = driver.findElement(By.cssSelector("input[name='id_gender'][value='1']"));
+            firstName = driver.findElement(firstNameLocator);
+        }
+    }
+
+    @Benchmark
+    public void clickHelper(RegistrationForm form) {
+        form.page.clickElement(form.gender);
+    }
+
+    @Benchmark
+    public void clickRaw(RegistrationForm form) {
+        form.gender.click();
+    }
+
+    @Benchmark
+    public void sendKeysHelper(RegistrationForm form) {
+        form.page.type(form.firstName, "John");
+    }
+
+    @Benchmark
+    public void sendKeysRaw(RegistrationForm form) {
+        form.firstName.clear();
+        form.firstName.sendKeys("John");
+    }
+
+    @Benchmark
+    public void waitForVisible(RegistrationForm form) {
+        form.page.awaitVisible(form.firstName);
+    }
+
+    @Benchmark
+    public void waitForClickable(RegistrationForm form) {
+        form.page.awaitClickable(form.firstName);
+    }
+
+    @Benchmark
+    public Object waitAdaptiveLocated(RegistrationForm form) {
+        return new AdaptiveWait(form.driver).until(ExpectedConditions.visibilityOfElementLocated(form.firstNameLocator));
+    }
+
+    @Benchmark
+    public Object waitFixedPollLocated(RegistrationForm form) {
+        return new WebDriverWait(form.driver, Duration.ofSeconds(10))
+                .until(ExpectedConditions.visibilityOfElementLocated(form.firstNameLocator));
+    }
+
+    @Benchmark
+    public void waitForShopToLoad(RegistrationForm form) {
+        form.page.awaitShop();
+    }
+
+    @Benchmark
+    public void waitForPageToLoadCompletely(RegistrationForm form) {
+        form.page.awaitPageComplete();
+    }
+}
@@ -0,0 +1,77 @@
+package benchmarks;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebElement;
+import utils.LocatorRegistry;
+
+/**
+ * Locator resolution on the search results page: a plain selector, a LocatorChain whose
+ * remembered winner is a fallback, and a miss resolved through findElement (exception),
+ * findElements (empty list) and BasePage.findFirstOf (one script call).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocatorBenchmark {
+    private static final By PLAIN = By.cssSelector(".products article .product-title a");
+    private static final By CHAIN = LocatorRegistry.single("LocatorBenchmark", "firstProduct",
+            By.cssSelector(".product-miniature-missing a"), PLAIN);
+    private static final By MISSING = By.cssSelector("#no-such-element");
+
+    @State(Scope.Benchmark)
+    public static class SearchResults extends StandInSession {
+        @Override
+        protected String path() {
+            return "search?s=notebook";
+        }
+    }
+
+    @Benchmark
+    public WebElement plainSelector(SearchResults results) {
+        return results.driver.findElement(PLAIN);
+    }
+
+    @Benchmark
+    public WebElement chainWithFallbackWinner(SearchResults results) {
+        return results.driver.findElement(CHAIN);
+    }
+
+    @Benchmark
+    public Optional<WebElement> findFirstOfChain(SearchResults results) {
+        return results.page.first(CHAIN);
+    }
+
+    @Benchmark
+    public Object missByException(SearchResults results) {
+        try {
+            return results.driver.findElement(MISSING);
+        } catch (NoSuchElementException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public List<WebElement> missByEmptyList(SearchResults results) {
+        return results.driver.findElements(MISSING);
+    }
+
+    @Benchmark
+    public Optional<WebElement> missByFindFirstOf(SearchResults results) {
+        return results.page.first(MISSING);
+    }
+}
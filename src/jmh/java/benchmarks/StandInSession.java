@@ -0,0 +1,42 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openqa.selenium.WebDriver;
+import utils.DriverServices;
+import utils.StandInShopServer;
+import utils.WebDriverFactory;
+
+/**
+ * One configured browser (WebDriverFactory, headless by default) opened on a page of the
+ * in-process stand-in shop, shared by all invocations of a benchmark. Nothing leaves the
+ * machine, so scores are framework and browser overhead rather than network latency.
+ * Benchmarks declare a public @State subclass naming the page to open.
+ */
+public abstract class StandInSession {
+    WebDriver driver;
+    BenchmarkPage page;
+
+    // Path below the stand-in base URL, e.g. "registration" or "search?s=notebook"
+    protected abstract String path();
+
+    @Setup(Level.Trial)
+    public void start() {
+        driver = WebDriverFactory.createDriver();
+        page = new BenchmarkPage(driver);
+        driver.get(StandInShopServer.shared().baseUrl() + path());
+        opened();
+    }
+
+    // Called once the page is open, to look up the elements a benchmark reuses
+    protected void opened() {
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        driver.quit();
+        DriverServices.shutdown();
+        StandInShopServer.stopShared();
+    }
+}
@@ -1,17 +1,29 @@
 package org.example;
 
-//TIP To <b>Run</b> code, press <shortcut actionId="Run"/> or
-// click the <icon src="AllIcons.Actions.Execute"/> icon in the gutter.
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Entry point of the load mode. The shopper flows are built from the page objects in the test
+ * sources, so the runner is looked up on the classpath and needs the test classpath:
+ *
+ *   mvn -Pload verify -Dload.users=8 -Dload.rampUp=30 -Dload.duration=300 -Dload.thinkTimeMillis=1000
+ */
 public class Main {
-    public static void main(String[] args) {
-        //TIP Press <shortcut actionId="ShowIntentionActions"/> with your caret at the highlighted text
-        // to see how IntelliJ IDEA suggests fixing it.
-        System.out.printf("Hello and welcome!");
+    private static final String LOAD_RUNNER = "load.LoadRunner";
 
-        for (int i = 1; i <= 5; i++) {
-            //TIP Press <shortcut actionId="Debug"/> to start debugging your code. We have set one <icon src="AllIcons.Debugger.Db_set_breakpoint"/> breakpoint
-            // for you, but you can always add more by pressing <shortcut actionId="ToggleLineBreakpoint"/>.
-            System.out.println("i = " + i);
+    public static void main(String[] args) throws Throwable {
+        Class<?> runner;
+        try {
+            runner = Class.forName(LOAD_RUNNER);
+        } catch (ClassNotFoundException e) {
+            System.err.println(LOAD_RUNNER + " is not on the classpath. Run the load mode with the test classpath:"
+                    + " mvn -Pload verify");
+            return;
+        }
+        try {
+            runner.getMethod("main", String[].class).invoke(null, (Object) args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
         }
     }
-}
\ No newline at end of file
+}
@@ -1,8 +1,107 @@
 package config;
 
+/**
+ * Runtime settings, resolved once at class initialisation through the layers described in
+ * {@link Settings} (defaults, config.properties, external file, SHOPTEST_* environment, -D).
+ */
 public class Config {
-    public static final String BASE_URL = "https://demo.prestashop.com/";
-    public static final int TIMEOUT = 10;
-    public static final boolean HEADLESS = false;
-    public static final String BROWSER = "chrome";
+    public static final Settings SETTINGS = Settings.load();
+
+    public static final String BASE_URL = SETTINGS.get("base.url", "https://demo.prestashop.com/");
+
+    // Timeouts per wait type (seconds) and the WebDriverWait polling interval
+    public static final int ELEMENT_TIMEOUT_SECONDS = SETTINGS.getInt("timeout.element", 60);
+    public static final int SHOP_LOAD_TIMEOUT_SECONDS = SETTINGS.getInt("timeout.shopLoad", 60);
+    public static final int FRAME_SWITCH_TIMEOUT_SECONDS = SETTINGS.getInt("timeout.frameSwitch", 30);
+    public static final long WAIT_POLL_MILLIS = SETTINGS.getLong("wait.elementPollMillis", 500);
+    // Adaptive waits: first poll interval (doubling up to wait.elementPollMillis) and the budget shared
+    // by all waits of one page transition
+    public static final long WAIT_INITIAL_POLL_MILLIS = SETTINGS.getLong("wait.initialPollMillis", 50);
+    public static final int TRANSITION_BUDGET_SECONDS = SETTINGS.getInt("timeout.transitionBudget", 90);
+
+    // Browser matrix: chrome, chrome-headless-shell, firefox or edge (-Dbrowser); headless unless -Dheadless=false
+    public static final String BROWSER = SETTINGS.get("browser", "chrome");
+    public static final boolean HEADLESS = SETTINGS.getBoolean("headless", true);
+    // Browser executable, e.g. the chrome-headless-shell download (empty uses the installed browser)
+    public static final String BROWSER_BINARY = SETTINGS.get("browser.binary", "");
+    // Page load strategy: normal (wait for all subresources) or eager (return at DOMContentLoaded)
+    public static final String PAGE_LOAD_STRATEGY = SETTINGS.get("page.load", "normal");
+
+    // Shop under test: "remote" (demo.prestashop.com) or "local" (in-process stand-in server)
+    public static final String SHOP_MODE = SETTINGS.get("shop.mode", "remote");
+    public static final boolean LOCAL_SHOP = "local".equalsIgnoreCase(SHOP_MODE);
+    public static final int STANDIN_PORT = SETTINGS.getInt("standin.port", 0);
+    // Remote shop bootstrap: "direct" (navigate to the inner shop URL) or "legacy" (work inside the demo iframe),
+    // and an optional pinned inner shop URL that skips the demo wrapper page
+    public static final String SHOP_BOOTSTRAP = SETTINGS.get("shop.bootstrap", "direct");
+    public static final String SHOP_URL = SETTINGS.get("shop.url", "");
+
+    // Parallel execution (none, methods, classes, instances, tests)
+    public static final String PARALLEL_MODE = SETTINGS.get("test.parallel", "none");
+    public static final int THREAD_COUNT = SETTINGS.getInt("test.threads", 1);
+
+    // Quiescence detection used instead of fixed sleeps (wait.pollMillis / wait.idleMillis)
+    public static final long QUIESCENCE_POLL_MILLIS = SETTINGS.getLong("wait.pollMillis", 100);
+    public static final long QUIESCENCE_IDLE_MILLIS = SETTINGS.getLong("wait.idleMillis", 500);
+
+    // Timing instrumentation (-Dtiming.commands=false skips per-command timing)
+    public static final boolean TIME_COMMANDS = SETTINGS.getBoolean("timing.commands", true);
+    public static final String PERF_HISTORY_DIR = SETTINGS.get("perf.historyDir", ".perf");
+    // Page weight from CDP network events (counts cross-origin bytes Resource Timing reports as 0)
+    public static final boolean PAGE_WEIGHT_NETWORK = SETTINGS.getBoolean("pageWeight.network", true);
+
+    // Record-and-replay cache for static shop assets (-Dasset.cache=true to enable)
+    public static final boolean ASSET_CACHE = SETTINGS.getBoolean("asset.cache", false);
+    public static final String ASSET_CACHE_DIR = SETTINGS.get("asset.cache.dir", ".perf/asset-cache");
+    public static final int ASSET_CACHE_MAX_MB = SETTINGS.getInt("asset.cache.maxMb", 200);
+
+    // Resource blocking profile: none, trackers or lean (-Dblock.profile), extra patterns and allow-list
+    public static final String BLOCK_PROFILE = SETTINGS.get("block.profile", "none");
+    public static final String BLOCK_PATTERNS = SETTINGS.get("block.patterns", "");
+    public static final String BLOCK_ALLOW = SETTINGS.get("block.allow", "*large_default*,*medium_default*,*/img/p/*");
+
+    // Locator audit: mean resolution time above which a selector is flagged, and timing of every fallback
+    public static final double LOCATOR_SLOW_MILLIS = SETTINGS.getDouble("locator.slowMillis", 25);
+    public static final boolean LOCATOR_AUDIT = SETTINGS.getBoolean("locator.audit", false);
+
+    // Retries of idempotent page-object steps (exponential backoff), of steps quarantined as chronically
+    // flaky, and of whole tests as a last resort
+    public static final int STEP_RETRIES = SETTINGS.getInt("step.retries", 2);
+    public static final long STEP_RETRY_BACKOFF_MILLIS = SETTINGS.getLong("step.retryBackoffMillis", 500);
+    public static final int QUARANTINE_STEP_RETRIES = SETTINGS.getInt("flaky.quarantineRetries", 4);
+    public static final int FLAKY_QUARANTINE_PERCENT = SETTINGS.getInt("flaky.quarantinePercent", 20);
+    public static final int TEST_RETRIES = SETTINGS.getInt("test.retries", 1);
+
+    // Test users: pool size, generation seed (logged, pass it back to reproduce a run's users) and an
+    // optional file keeping registered accounts for login flows in later runs (empty keeps nothing)
+    public static final int USER_POOL_SIZE = SETTINGS.getInt("users.poolSize", 32);
+    public static final long USER_SEED = SETTINGS.getLong("users.seed", System.currentTimeMillis());
+    public static final String USER_STORE = SETTINGS.get("users.store", "");
+
+    // Registration form filling: "batched" (one script call) or "per-field" (one command per action)
+    public static final String FORM_FILL_MODE = SETTINGS.get("form.fill", "batched");
+
+    // Driver binary resolution: pinned binary, or a pinned version resolved from a local cache directory
+    public static final String DRIVER_PATH = SETTINGS.get("driver.path", "");
+    public static final String DRIVER_VERSION = SETTINGS.get("driver.version", "");
+    public static final String DRIVER_CACHE_DIR = SETTINGS.get("driver.cacheDir", "");
+    // One long-lived driver service for all sessions (-Ddriver.sharedService=false starts one per session)
+    public static final boolean SHARED_DRIVER_SERVICE = SETTINGS.getBoolean("driver.sharedService", true);
+    // Driver creations measured by DriverStartupBenchmark (the first is the cold start, so at least 2)
+    public static final int STARTUP_BENCHMARK_ITERATIONS = SETTINGS.getInt("benchmark.startupIterations", 5);
+
+    // Load mode (org.example.Main): concurrent shoppers, ramp-up and run duration, pause between steps
+    public static final int LOAD_USERS = Math.max(1, SETTINGS.getInt("load.users", 4));
+    public static final int LOAD_RAMP_UP_SECONDS = SETTINGS.getInt("load.rampUp", 10);
+    public static final int LOAD_DURATION_SECONDS = SETTINGS.getInt("load.duration", 120);
+    public static final long LOAD_THINK_TIME_MILLIS = SETTINGS.getLong("load.thinkTimeMillis", 1000);
+
+    // Driver pool sizing (override per CI agent with -Dpool.size / -Dpool.checkoutTimeout)
+    public static final int POOL_SIZE = SETTINGS.getInt("pool.size", Math.max(2, THREAD_COUNT));
+    public static final int POOL_CHECKOUT_TIMEOUT_SECONDS = SETTINGS.getInt("pool.checkoutTimeout", 300);
+    // Browsers started concurrently before the suite or load run, so the first tests skip the launch
+    public static final int POOL_WARM_UP = SETTINGS.getInt("pool.warmUp", 0);
+
+    // Virtual threads for the parallel suite, load shoppers and pool warm-up (Java 21+ runtimes; platform threads otherwise)
+    public static final boolean VIRTUAL_THREADS = SETTINGS.getBoolean("threads.virtual", true);
 }
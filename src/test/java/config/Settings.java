@@ -0,0 +1,164 @@
+package config;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Layered configuration source behind {@link Config}. For every key the last layer that
+ * defines it wins:
+ *
+ *   1. the default passed by Config
+ *   2. config.properties on the test classpath
+ *   3. an external properties file (-Dconfig.file or SHOPTEST_CONFIG_FILE)
+ *   4. environment variables with the SHOPTEST_ prefix (shop.mode becomes SHOPTEST_SHOP_MODE,
+ *      wait.pollMillis SHOPTEST_WAIT_POLL_MILLIS); the prefix keeps generic variables such as
+ *      BROWSER from leaking in
+ *   5. -D system properties
+ *
+ * All layers are read once when Config is initialised, and the snapshot never changes
+ * afterwards, so every thread sees the same values.
+ */
+public final class Settings {
+    private static final String ENV_PREFIX = "SHOPTEST_";
+
+    private final Map<String, String> fileValues;
+    private final Map<String, String> fileSources;
+    private final Map<String, String> environment;
+    private final Map<String, String> systemProperties;
+    // Resolved value and layer of every key read so far, for describe()
+    private final Map<String, String> resolved = new ConcurrentHashMap<>();
+
+    private Settings(Map<String, String> fileValues, Map<String, String> fileSources,
+                     Map<String, String> environment, Map<String, String> systemProperties) {
+        this.fileValues = fileValues;
+        this.fileSources = fileSources;
+        this.environment = environment;
+        this.systemProperties = systemProperties;
+    }
+
+    public static Settings load() {
+        Map<String, String> values = new HashMap<>();
+        Map<String, String> sources = new HashMap<>();
+        try (InputStream in = Settings.class.getResourceAsStream("/config.properties")) {
+            if (in != null) {
+                Properties properties = new Properties();
+                properties.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+                addAll(properties, "classpath:config.properties", values, sources);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read config.properties", e);
+        }
+
+        String external = System.getProperty("config.file", System.getenv(ENV_PREFIX + "CONFIG_FILE"));
+        if (external != null && !external.isEmpty()) {
+            File file = new File(external);
+            try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+                Properties properties = new Properties();
+                properties.load(reader);
+                addAll(properties, file.getPath(), values, sources);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read configuration file " + file, e);
+            }
+        }
+
+        Map<String, String> systemProperties = new HashMap<>();
+        for (String name : System.getProperties().stringPropertyNames()) {
+            systemProperties.put(name, System.getProperty(name));
+        }
+        return new Settings(Collections.unmodifiableMap(values), Collections.unmodifiableMap(sources),
+                Collections.unmodifiableMap(new HashMap<>(System.getenv())),
+                Collections.unmodifiableMap(systemProperties));
+    }
+
+    public String get(String key, String defaultValue) {
+        String value = defaultValue;
+        String source = "default";
+        if (fileValues.containsKey(key)) {
+            value = fileValues.get(key);
+            source = fileSources.get(key);
+        }
+        String envName = environmentName(key);
+        if (environment.containsKey(envName)) {
+            value = environment.get(envName);
+            source = "env:" + envName;
+        }
+        if (systemProperties.containsKey(key)) {
+            value = systemProperties.get(key);
+            source = "-D" + key;
+        }
+        resolved.put(key, value + "  (" + source + ")");
+        return value == null ? null : value.trim();
+    }
+
+    public int getInt(String key, int defaultValue) {
+        String value = get(key, String.valueOf(defaultValue));
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Setting " + key + " must be an integer, got '" + value + "'");
+        }
+    }
+
+    public long getLong(String key, long defaultValue) {
+        String value = get(key, String.valueOf(defaultValue));
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Setting " + key + " must be a number, got '" + value + "'");
+        }
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        String value = get(key, String.valueOf(defaultValue));
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Setting " + key + " must be a number, got '" + value + "'");
+        }
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = get(key, String.valueOf(defaultValue));
+        if (!"true".equalsIgnoreCase(value) && !"false".equalsIgnoreCase(value)) {
+            throw new IllegalArgumentException("Setting " + key + " must be true or false, got '" + value + "'");
+        }
+        return Boolean.parseBoolean(value);
+    }
+
+    // Every setting read so far with its effective value and the layer it came from
+    public String describe() {
+        StringBuilder description = new StringBuilder("Effective configuration:\n");
+        new TreeMap<>(resolved).forEach((key, value) ->
+                description.append(String.format("  %-28s %s%n", key, value)));
+        return description.toString();
+    }
+
+    // wait.pollMillis -> SHOPTEST_WAIT_POLL_MILLIS
+    static String environmentName(String key) {
+        return ENV_PREFIX + key.replaceAll("([a-z0-9])([A-Z])", "$1_$2")
+                .replace('.', '_')
+                .replace('-', '_')
+                .toUpperCase(Locale.ROOT);
+    }
+
+    private static void addAll(Properties properties, String source, Map<String, String> values,
+                               Map<String, String> sources) {
+        for (String name : properties.stringPropertyNames()) {
+            values.put(name, properties.getProperty(name));
+            sources.put(name, source);
+        }
+    }
+}
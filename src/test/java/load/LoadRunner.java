@@ -0,0 +1,299 @@
+package load;
+
+import config.Config;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pages.AuthenticationPage;
+import pages.CartPage;
+import pages.HomePage;
+import pages.ProductPage;
+import pages.SearchPage;
+import utils.DriverPool;
+import utils.DriverServices;
+import utils.LogContext;
+import utils.ShopBootstrap;
+import utils.StandInShopServer;
+import utils.TaskScope;
+import utils.ThreadUsage;
+
+/**
+ * Synthetic shopper load built from the page objects. load.users shoppers start evenly over
+ * load.rampUp seconds and repeat the registration, search, product and cart flow until
+ * load.duration has passed, pausing load.thinkTimeMillis between steps. Every shopper has its
+ * own browser from a pool sized to the user count; a failed scenario discards its browser.
+ * Shoppers run in a TaskScope, on virtual threads where the runtime has them.
+ *
+ * The report gives completed scenarios per minute, latency percentiles and error rate per step
+ * (think time excluded) and is written to target/load-report.json. Started through
+ * org.example.Main, see the README.
+ */
+public class LoadRunner {
+    private static final Logger log = LoggerFactory.getLogger(LoadRunner.class);
+    private static final String[] SEARCH_TERMS = {"notebook", "mug", "t-shirt", "poster"};
+    private static final String[] STEPS = {"open shop", "register", "search", "open product", "add to cart", "view cart"};
+    private static final String SCENARIO = "scenario";
+
+    private final int users;
+    private final long rampUpMillis;
+    private final long durationMillis;
+    private final long thinkTimeMillis;
+    private final DriverPool pool;
+    private final ConcurrentMap<String, StepStats> stats = new ConcurrentHashMap<>();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public LoadRunner(int users, long rampUpMillis, long durationMillis, long thinkTimeMillis) {
+        this.users = users;
+        this.rampUpMillis = rampUpMillis;
+        this.durationMillis = durationMillis;
+        this.thinkTimeMillis = thinkTimeMillis;
+        this.pool = new DriverPool(users);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        LoadRunner runner = new LoadRunner(Config.LOAD_USERS, Config.LOAD_RAMP_UP_SECONDS * 1000L,
+                Config.LOAD_DURATION_SECONDS * 1000L, Config.LOAD_THINK_TIME_MILLIS);
+        System.out.println(runner.run());
+    }
+
+    // Runs the load to completion and returns the report
+    public String run() throws InterruptedException {
+        log.info("Starting {} shoppers over {} s, running for {} s against {}", users, rampUpMillis / 1000,
+                durationMillis / 1000, Config.LOCAL_SHOP ? "the local stand-in shop" : Config.BASE_URL);
+        if (Config.POOL_WARM_UP > 0) {
+            pool.warmUp(Math.min(users, Config.POOL_WARM_UP));
+        }
+        ThreadUsage threadUsage = ThreadUsage.start("load x" + users);
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+        // Shoppers handle their own scenario failures; anything escaping a shopper stops the whole run
+        try (TaskScope shoppers = new TaskScope("shopper", users)) {
+            for (int user = 0; user < users; user++) {
+                int shopper = user;
+                long delay = rampUpMillis * user / users;
+                shoppers.fork(() -> shop(shopper, delay, deadline));
+            }
+            // Scenarios in flight at the deadline are allowed to finish
+            if (!shoppers.join(Duration.ofMillis(durationMillis + rampUpMillis).plusMinutes(10))) {
+                log.warn("Shoppers still running after the grace period, interrupting them");
+            }
+            shoppers.throwIfFailed();
+        } catch (ExecutionException e) {
+            log.error("Load run aborted", e.getCause());
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        pool.shutdown();
+        DriverServices.shutdown();
+        StandInShopServer.stopShared();
+        return report(elapsedMillis) + System.lineSeparator() + threadUsage.stop();
+    }
+
+    private void shop(int shopper, long delayMillis, long deadline) {
+        try {
+            Thread.sleep(delayMillis);
+            int iteration = 0;
+            while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                runScenario(SEARCH_TERMS[(shopper + iteration++) % SEARCH_TERMS.length]);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // A failed checkout (launch error or pool timeout) counts as a failed scenario like any step failure
+    private void runScenario(String searchTerm) throws InterruptedException {
+        long start = System.nanoTime();
+        LogContext.startSession(Thread.currentThread().getName());
+        WebDriver driver = null;
+        try {
+            driver = pool.borrow();
+            browse(driver, searchTerm);
+            stats(SCENARIO).record(System.nanoTime() - start, true);
+            completed.incrementAndGet();
+            pool.release();
+        } catch (RuntimeException e) {
+            stats(SCENARIO).record(System.nanoTime() - start, false);
+            failed.incrementAndGet();
+            log.warn("Scenario failed: {}", e.getMessage());
+            if (driver != null) {
+                pool.invalidate();
+            }
+        } catch (InterruptedException e) {
+            if (driver != null) {
+                pool.invalidate();
+            }
+            throw e;
+        } finally {
+            LogContext.endSession();
+        }
+    }
+
+    private void browse(WebDriver driver, String searchTerm) throws InterruptedException {
+        step("open shop", () -> {
+            if (Config.LOCAL_SHOP) {
+                driver.get(StandInShopServer.shared().baseUrl());
+            } else {
+                new ShopBootstrap(driver).open();
+            }
+            return null;
+        });
+        HomePage homePage = step("register", () -> {
+            AuthenticationPage authPage = new HomePage(driver).goToLoginPage().goToRegistration();
+            authPage.fillRegistrationForm("Load", "Shopper");
+            HomePage registered = authPage.submitRegistration();
+            check(registered.isUserLoggedIn(), "user is not logged in after registration");
+            return registered;
+        });
+        think();
+        SearchPage searchPage = step("search", () -> {
+            SearchPage results = homePage.searchProduct(searchTerm);
+            check(results.getSearchResultsCount() > 0, "no results for '" + searchTerm + "'");
+            return results;
+        });
+        think();
+        ProductPage productPage = step("open product", () -> {
+            ProductPage product = searchPage.selectFirstProduct();
+            check(product.hasProductImage(), "product has no image");
+            return product;
+        });
+        think();
+        step("add to cart", () -> {
+            productPage.addToCart();
+            return null;
+        });
+        step("view cart", () -> {
+            CartPage cartPage = productPage.proceedToCart();
+            check(cartPage.isProductInCart(), "product is not in the cart");
+            return cartPage;
+        });
+    }
+
+    private <T> T step(String name, Supplier<T> action) {
+        long start = System.nanoTime();
+        boolean ok = false;
+        try {
+            T result = action.get();
+            ok = true;
+            return result;
+        } finally {
+            stats(name).record(System.nanoTime() - start, ok);
+        }
+    }
+
+    private static void check(boolean condition, String failure) {
+        if (!condition) {
+            throw new IllegalStateException(failure);
+        }
+    }
+
+    private void think() throws InterruptedException {
+        if (thinkTimeMillis > 0) {
+            Thread.sleep(thinkTimeMillis);
+        }
+    }
+
+    private StepStats stats(String name) {
+        return stats.computeIfAbsent(name, key -> new StepStats());
+    }
+
+    private String report(long elapsedMillis) {
+        double minutes = Math.max(elapsedMillis, 1) / 60_000.0;
+        long done = completed.get();
+        long total = done + failed.get();
+
+        StringBuilder report = new StringBuilder(String.format(
+                "Load report: %d shoppers, %d s elapsed, %d scenarios completed, %d failed (%.1f%% errors), %.2f scenarios/minute%n",
+                users, elapsedMillis / 1000, done, failed.get(), percent(failed.get(), total), done / minutes));
+        report.append(String.format("  %-14s %7s %7s %8s %10s %10s %10s %10s%n",
+                "step", "count", "errors", "error %", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        List<String> names = new ArrayList<>(List.of(STEPS));
+        names.add(SCENARIO);
+        for (String name : names) {
+            StepStats step = stats.get(name);
+            if (step == null) {
+                continue;
+            }
+            Map<String, Object> row = step.toMap(name);
+            rows.add(row);
+            report.append(String.format("  %-14s %7d %7d %8.1f %10.0f %10.0f %10.0f %10.0f%n",
+                    name, row.get("count"), row.get("errors"), row.get("errorRate"),
+                    row.get("p50Ms"), row.get("p95Ms"), row.get("p99Ms"), row.get("maxMs")));
+        }
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("runAt", Instant.now().toString());
+        json.put("users", users);
+        json.put("rampUpSeconds", rampUpMillis / 1000);
+        json.put("durationSeconds", durationMillis / 1000);
+        json.put("thinkTimeMillis", thinkTimeMillis);
+        json.put("elapsedSeconds", elapsedMillis / 1000.0);
+        json.put("completed", done);
+        json.put("failed", failed.get());
+        json.put("scenariosPerMinute", done / minutes);
+        json.put("steps", rows);
+        File file = new File("target", "load-report.json");
+        try {
+            Files.createDirectories(file.getParentFile().toPath());
+            Files.write(file.toPath(), new Json().toJson(json).getBytes(StandardCharsets.UTF_8));
+            report.append("Written to ").append(file.getPath());
+        } catch (IOException e) {
+            report.append("Could not write ").append(file.getPath()).append(": ").append(e.getMessage());
+        }
+        return report.toString();
+    }
+
+    private static double percent(long part, long total) {
+        return total == 0 ? 0 : 100.0 * part / total;
+    }
+
+    // Latency of successful and failed attempts of one step, in microseconds
+    private static class StepStats {
+        private final Histogram latency = new ConcurrentHistogram(3);
+        private final AtomicLong errors = new AtomicLong();
+
+        void record(long nanos, boolean ok) {
+            latency.recordValue(Math.max(0, nanos / 1_000));
+            if (!ok) {
+                errors.incrementAndGet();
+            }
+        }
+
+        Map<String, Object> toMap(String name) {
+            Histogram copy = latency.copy();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("step", name);
+            row.put("count", copy.getTotalCount());
+            row.put("errors", errors.get());
+            row.put("errorRate", percent(errors.get(), copy.getTotalCount()));
+            row.put("p50Ms", copy.getValueAtPercentile(50) / 1000.0);
+            row.put("p95Ms", copy.getValueAtPercentile(95) / 1000.0);
+            row.put("p99Ms", copy.getValueAtPercentile(99) / 1000.0);
+            row.put("maxMs", copy.getMaxValue() / 1000.0);
+            return row;
+        }
+    }
+}
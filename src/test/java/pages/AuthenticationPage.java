@@ -1,9 +1,19 @@
 package pages;
 
-import java.util.UUID;
+import config.Config;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import utils.CommandTimingListener;
+import utils.LocatorRegistry;
+import utils.TestUser;
+import utils.UserPool;
 
 
 public class AuthenticationPage extends BasePage {
@@ -18,244 +28,194 @@ public class AuthenticationPage extends BasePage {
     private By termsCheckbox = By.name("psgdpr");
     private By newsletterCheckbox = By.name("newsletter");
     private By customerPrivacyCheckbox = By.name("customer_privacy");
-    private By saveButton = By.xpath("//button[contains(text(), 'Save') or contains(@class, 'btn-primary')]");
+    private By saveButton = LocatorRegistry.single("AuthenticationPage", "saveButton",
+            By.cssSelector("#customer-form button[type='submit']"),
+            By.cssSelector("button[data-link-action='save-customer']"),
+            By.xpath("//button[contains(text(), 'Save') or contains(@class, 'btn-primary')]"));
     private By passwordStrength = By.cssSelector(".password-strength"); // To check password strength
+    private TestUser user;
 
     public AuthenticationPage(WebDriver driver) {
         super(driver);
-        waitForFullLoad();
+        step("load", this::waitForFullLoad);
     }
 
+    // Registers the next pooled user under the given name
     public void fillRegistrationForm(String firstName, String lastName) {
-        System.out.println("Filling registration form...");
+        fillRegistrationForm(UserPool.shared().checkout().withName(firstName, lastName));
+    }
+
+    public void fillRegistrationForm(TestUser user) {
+        this.user = user;
+        String mode = Config.FORM_FILL_MODE;
+        long commandsBefore = CommandTimingListener.commandCount();
+        long start = System.nanoTime();
+
+        step("fillRegistrationForm[" + mode + "]", () -> {
+            if ("per-field".equals(mode)) {
+                fillRegistrationFormFieldByField(user);
+            } else {
+                fillRegistrationFormBatched(user);
+            }
+        });
+
+        // Compare modes by running with -Dform.fill=batched and -Dform.fill=per-field
+        log.info("Registration form filled ({}): {} WebDriver commands in {} ms", mode,
+                CommandTimingListener.commandCount() - commandsBefore, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // All fields and checkboxes in one script call; only the password is typed, so the strength meter sees keystrokes
+    private void fillRegistrationFormBatched(TestUser user) {
+        log.debug("Filling registration form in one batch...");
+
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("id_gender", "1");
+        fields.put("firstname", user.getFirstName());
+        fields.put("lastname", user.getLastName());
+        fields.put("email", user.getEmail());
+        fields.put("password", user.getPassword());
+        fields.put("birthday", user.getBirthdate());
+        fields.put("customer_privacy", true);
+        fields.put("psgdpr", true);
+        fields.put("newsletter", true);
+        fields.put("optin", true);
+
+        List<String> absent = fillForm(fields, Collections.singleton("password"));
+        log.info("Filled registration form for {}", user);
+        if (!absent.isEmpty()) {
+            log.info("Fields not present on this form: {}", absent);
+        }
+
+        // Wait for password strength validation
+        waitForPasswordStrength();
+    }
+
+    private void fillRegistrationFormFieldByField(TestUser user) {
+        log.debug("Filling registration form...");
 
         // Select gender (Mr.)
-        try {
-            WebElement genderMr = driver.findElement(socialTitleMr);
-            if (!genderMr.isSelected()) {
-                genderMr.click();
+        Optional<WebElement> genderMr = findOptional(socialTitleMr);
+        if (genderMr.isPresent()) {
+            if (!genderMr.get().isSelected()) {
+                genderMr.get().click();
             }
-            System.out.println("Selected Mr. as social title");
-        } catch (Exception e) {
-            System.out.println("Could not select social title: " + e.getMessage());
+            log.debug("Selected Mr. as social title");
+        } else {
+            log.warn("Could not select social title: not present");
         }
 
         // Fill first name
         WebElement firstNameField = driver.findElement(firstNameInput);
         firstNameField.clear();
-        firstNameField.sendKeys(firstName);
-        System.out.println("Filled first name: " + firstName);
+        firstNameField.sendKeys(user.getFirstName());
+        log.debug("Filled first name: {}", user.getFirstName());
 
         // Fill last name
         WebElement lastNameField = driver.findElement(lastNameInput);
         lastNameField.clear();
-        lastNameField.sendKeys(lastName);
-        System.out.println("Filled last name: " + lastName);
+        lastNameField.sendKeys(user.getLastName());
+        log.debug("Filled last name: {}", user.getLastName());
 
-        // Fill email (generate unique if needed)
+        // Fill email
         WebElement emailField = driver.findElement(emailInput);
-        String currentEmail = emailField.getAttribute("value");
-        if (currentEmail == null || currentEmail.isEmpty()) {
-            String uniqueEmail = generateUniqueEmail();
-            emailField.clear();
-            emailField.sendKeys(uniqueEmail);
-            System.out.println("Filled email: " + uniqueEmail);
-        } else {
-            System.out.println("Email already filled: " + currentEmail);
-        }
+        emailField.clear();
+        emailField.sendKeys(user.getEmail());
+        log.debug("Filled email: {}", user.getEmail());
 
         // Fill STRONG password
-        String strongPassword = generateStrongPassword();
         WebElement passwordField = driver.findElement(passwordInput);
         passwordField.clear();
-        passwordField.sendKeys(strongPassword);
-        System.out.println("Filled strong password: " + strongPassword);
+        passwordField.sendKeys(user.getPassword());
+        log.debug("Filled strong password for {}", user.getEmail());
 
         // Wait for password strength validation
         waitForPasswordStrength();
 
         // Fill birthdate in correct format (YYYY-MM-DD)
-        try {
-            WebElement birthdateField = driver.findElement(birthdateInput);
-            birthdateField.clear();
-            birthdateField.sendKeys("1990-05-31"); // Use YYYY-MM-DD format
-            System.out.println("Filled birthdate: 1990-05-31");
-        } catch (Exception e) {
-            System.out.println("Birthdate field not available or optional");
+        Optional<WebElement> birthdateField = findOptional(birthdateInput);
+        if (birthdateField.isPresent()) {
+            birthdateField.get().clear();
+            birthdateField.get().sendKeys(user.getBirthdate()); // Use YYYY-MM-DD format
+            log.debug("Filled birthdate: {}", user.getBirthdate());
+        } else {
+            log.debug("Birthdate field not available or optional");
         }
 
         // Check required checkboxes
         checkRequiredCheckboxes();
     }
 
-    // Generate a strong password that meets requirements
-    private String generateStrongPassword() {
-        // Strong password: at least 8 characters with uppercase, lowercase, numbers, and special characters
-        String uppercase = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
-        String lowercase = "abcdefghijklmnopqrstuvwxyz";
-        String numbers = "0123456789";
-        String special = "!@#$%^&*";
-
-        StringBuilder password = new StringBuilder();
-
-        // Ensure at least one of each type
-        password.append(uppercase.charAt((int) (Math.random() * uppercase.length())));
-        password.append(lowercase.charAt((int) (Math.random() * lowercase.length())));
-        password.append(numbers.charAt((int) (Math.random() * numbers.length())));
-        password.append(special.charAt((int) (Math.random() * special.length())));
-
-        // Fill remaining characters to make it 12 characters long
-        String allChars = uppercase + lowercase + numbers + special;
-        for (int i = 4; i < 12; i++) {
-            password.append(allChars.charAt((int) (Math.random() * allChars.length())));
-        }
-
-        // Shuffle the password
-        char[] passwordArray = password.toString().toCharArray();
-        for (int i = 0; i < passwordArray.length; i++) {
-            int randomIndex = (int) (Math.random() * passwordArray.length);
-            char temp = passwordArray[i];
-            passwordArray[i] = passwordArray[randomIndex];
-            passwordArray[randomIndex] = temp;
-        }
-
-        return new String(passwordArray);
-    }
-
-    // Alternative simple strong passwords (choose one)
-    private String getPredefinedStrongPassword() {
-        String[] strongPasswords = {
-                "StrongPass123!",
-                "SecurePwd456@",
-                "TestPass789#",
-                "Password123$",
-                "AdminPass!123",
-                "UserPass@456",
-                "DemoPass#789",
-                "TempPass$012"
-        };
-        return strongPasswords[(int) (Math.random() * strongPasswords.length)];
-    }
-
     // Wait for password strength indicator to show "Strong"
     private void waitForPasswordStrength() {
-        System.out.println("Waiting for password strength validation...");
-        try {
-            // Wait a moment for the strength indicator to update
-            Thread.sleep(2000);
-
-            // Check if there's a password strength indicator
-            try {
-                WebElement strengthIndicator = driver.findElement(passwordStrength);
-                String strengthText = strengthIndicator.getText();
-                System.out.println("Password strength: " + strengthText);
-
-                // If not strong, try a different password
-                if (strengthText != null && !strengthText.toLowerCase().contains("strong")) {
-                    System.out.println("Password not strong enough, trying alternative...");
-                    WebElement passwordField = driver.findElement(passwordInput);
-                    passwordField.clear();
-                    String alternativePassword = getPredefinedStrongPassword();
-                    passwordField.sendKeys(alternativePassword);
-                    System.out.println("Used alternative password: " + alternativePassword);
-                    Thread.sleep(2000);
-                }
-            } catch (Exception e) {
-                System.out.println("No password strength indicator found");
-            }
-        } catch (InterruptedException e) {
-            System.out.println("Interrupted while waiting for password strength");
-        }
-    }
-
-    private void checkRequiredCheckboxes() {
-        System.out.println("Checking required checkboxes...");
+        log.debug("Waiting for password strength validation...");
 
-        // Customer data privacy (usually required)
-        try {
-            WebElement customerPrivacy = driver.findElement(customerPrivacyCheckbox);
-            if (!customerPrivacy.isSelected()) {
-                customerPrivacy.click();
-                System.out.println("Checked Customer data privacy");
-            }
-        } catch (Exception e) {
-            System.out.println("Customer privacy checkbox not found");
-        }
+        // Wait for the strength indicator to finish updating (was a fixed 2 second sleep)
+        quiescence.awaitQuiet("AuthenticationPage password strength", 2000);
 
-        // Terms and conditions
-        try {
-            WebElement terms = driver.findElement(termsCheckbox);
-            if (!terms.isSelected()) {
-                terms.click();
-                System.out.println("Checked Terms and conditions");
-            }
-        } catch (Exception e) {
-            System.out.println("Terms checkbox not found");
+        // Check if there's a password strength indicator
+        Optional<WebElement> strengthIndicator = findOptional(passwordStrength);
+        if (!strengthIndicator.isPresent()) {
+            log.warn("No password strength indicator found");
+            return;
         }
-
-        // Optional checkboxes
         try {
-            WebElement newsletter = driver.findElement(newsletterCheckbox);
-            if (!newsletter.isSelected()) {
-                newsletter.click();
-                System.out.println("Checked Newsletter (optional)");
-            }
-        } catch (Exception e) {
-            System.out.println("Newsletter checkbox not found");
-        }
+            String strengthText = strengthIndicator.get().getText();
+            log.debug("Password strength: {}", strengthText);
 
-        try {
-            WebElement offers = driver.findElement(offersCheckbox);
-            if (!offers.isSelected()) {
-                offers.click();
-                System.out.println("Checked Offers from partners (optional)");
+            // Pooled passwords always rate strong; re-typing another one would desync the stored account
+            if (strengthText != null && !strengthText.toLowerCase().contains("strong")) {
+                log.warn("Pooled password rated '{}' by the strength meter", strengthText);
             }
         } catch (Exception e) {
-            System.out.println("Offers checkbox not found");
+            log.warn("Could not check password strength: {}", e.getMessage());
         }
     }
 
-    public HomePage submitRegistration() {
-        System.out.println("Submitting registration form...");
+    private void checkRequiredCheckboxes() {
+        log.debug("Checking required checkboxes...");
 
-        // Scroll to save button to ensure it's visible
-        try {
-            WebElement saveBtn = driver.findElement(saveButton);
-            ((org.openqa.selenium.JavascriptExecutor) driver).executeScript(
-                    "arguments[0].scrollIntoView(true);", saveBtn);
-            Thread.sleep(1000);
-        } catch (Exception e) {
-            System.out.println("Could not scroll to save button");
-        }
+        // Customer data privacy and terms are usually required, newsletter and offers are optional
+        checkIfPresent(customerPrivacyCheckbox, "Customer data privacy");
+        checkIfPresent(termsCheckbox, "Terms and conditions");
+        checkIfPresent(newsletterCheckbox, "Newsletter (optional)");
+        checkIfPresent(offersCheckbox, "Offers from partners (optional)");
+    }
 
-        // Click save button
-        try {
-            WebElement saveBtn = driver.findElement(saveButton);
-            saveBtn.click();
-            System.out.println("Clicked Save button");
-        } catch (Exception e) {
-            System.out.println("Could not click Save button: " + e.getMessage());
-            // Try alternative locator
-            try {
-                By altSaveButton = By.cssSelector("button[type='submit'], .btn-primary");
-                WebElement altSaveBtn = driver.findElement(altSaveButton);
-                altSaveBtn.click();
-                System.out.println("Clicked Save button using alternative locator");
-            } catch (Exception ex) {
-                System.out.println("Could not click Save button with alternative locator either");
-                throw ex;
-            }
+    private void checkIfPresent(By checkbox, String label) {
+        Optional<WebElement> element = findOptional(checkbox);
+        if (!element.isPresent()) {
+            log.warn("{} checkbox not found", label);
+            return;
+        }
+        if (!element.get().isSelected()) {
+            element.get().click();
+            log.debug("Checked {}", label);
         }
+    }
 
-        // Wait for registration to complete
-        waitForFullLoad();
+    public HomePage submitRegistration() {
+        return step("submitRegistration", () -> {
+            log.debug("Submitting registration form...");
+
+            // One lookup for the save button, falling back to any submit button
+            By altSaveButton = By.cssSelector("button[type='submit'], .btn-primary");
+            WebElement saveBtn = findFirstOf(saveButton, altSaveButton).orElseThrow(() ->
+                    new NoSuchElementException("Could not find the Save button with " + saveButton + " or " + altSaveButton));
+            // Scroll to save button to ensure it's visible
+            scrollIntoView(saveBtn, "AuthenticationPage scroll to save");
+            saveBtn.click();
+            log.debug("Clicked Save button");
 
-        System.out.println("Registration submission completed");
-        return new HomePage(driver);
-    }
+            // Wait for registration to complete
+            waitForFullLoad();
 
-    // Helper method to generate unique email
-    public String generateUniqueEmail() {
-        return "testuser_" + UUID.randomUUID().toString().substring(0, 8) + "@test.com";
+            log.info("Registration submission completed");
+            HomePage homePage = new HomePage(driver);
+            UserPool pool = UserPool.shared();
+            if (user != null && pool.persistsAccounts() && homePage.isUserLoggedIn()) {
+                pool.recordRegistered(user, UserPool.shopUrl(driver));
+            }
+            return homePage;
+        });
     }
 }
\ No newline at end of file
@@ -1,67 +1,139 @@
 package pages;
 
-import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.AdaptiveWait;
+import utils.LocatorChain;
+import utils.LocatorRegistry;
+import utils.LogContext;
+import utils.PageWeight;
+import utils.QuiescenceWait;
+import utils.Scripts;
+import utils.StepRetry;
+import utils.StepTimings;
+import utils.StepTimings.Category;
 
 public class BasePage {
-    protected WebDriver driver;
-    protected WebDriverWait wait;
+    protected final WebDriver driver;
+    protected final WebDriverWait wait;
+    protected final QuiescenceWait quiescence;
+    protected final Logger log = LoggerFactory.getLogger(getClass());
+
+    private static final AtomicLong EXCEPTIONS_AVOIDED = new AtomicLong();
 
     public BasePage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(60));
+        this.wait = new AdaptiveWait(driver);
+        this.quiescence = new QuiescenceWait(driver);
+    }
+
+    // Time a page-object action; recorded as "<PageClass>.<name>". The outermost step on a thread
+    // is a page transition whose waits share one time budget. Log lines inside carry the step name.
+    protected <T> T step(String name, Supplier<T> action) {
+        String stepName = getClass().getSimpleName() + "." + name;
+        String enclosing = LogContext.enterStep(stepName);
+        try {
+            return AdaptiveWait.transition(stepName, () -> StepTimings.time(Category.STEP, stepName, action));
+        } finally {
+            LogContext.restoreStep(enclosing);
+        }
+    }
+
+    /**
+     * A step that is safe to repeat, retried on WebDriver failures with backoff (see StepRetry).
+     * retry runs instead of action on later attempts, e.g. navigating straight to a page that the
+     * first attempt tried to reach by clicking. Each attempt is timed as its own step.
+     */
+    protected <T> T retryableStep(String name, Supplier<T> action, Supplier<T> retry) {
+        return StepRetry.run(getClass().getSimpleName() + "." + name,
+                () -> step(name, action), () -> step(name + " (retry)", retry));
+    }
+
+    protected <T> T retryableStep(String name, Supplier<T> action) {
+        return retryableStep(name, action, action);
+    }
+
+    protected void step(String name, Runnable action) {
+        step(name, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    // Time a single wait strategy; recorded as "<strategy>"
+    protected void timedWait(String strategy, Runnable action) {
+        StepTimings.time(Category.WAIT, strategy, action);
     }
 
     // More robust method to wait for shop to load
     protected void waitForShopToLoad() {
-        System.out.println("Waiting for shop to load...");
+        log.debug("Waiting for shop to load...");
 
         try {
             // Strategy 1: Wait for loading message to disappear
-            By loadingLocator = By.xpath("//*[contains(text(), 'A shop is on its way') or contains(text(), 'STRATEGY')]");
-            wait.until(ExpectedConditions.invisibilityOfElementLocated(loadingLocator));
-            System.out.println("Loading message disappeared");
+            String page = getClass().getSimpleName();
+            By loadingLocator = LocatorRegistry.single(page, "loadingMessage",
+                    By.xpath("//*[contains(text(), 'A shop is on its way') or contains(text(), 'STRATEGY')]"));
+            timedWait("shop: loading message gone",
+                    () -> wait.until(ExpectedConditions.invisibilityOfElementLocated(loadingLocator)));
+            log.debug("Loading message disappeared");
 
             // Strategy 2: Wait for main content to be visible
-            By mainContentLocator = By.cssSelector("main, #main, .page-content, .products");
-            wait.until(ExpectedConditions.presenceOfElementLocated(mainContentLocator));
-            System.out.println("Main content loaded");
+            By mainContentLocator = LocatorRegistry.single(page, "mainContent",
+                    By.id("main"), By.id("wrapper"), By.cssSelector("main, .page-content, .products"));
+            timedWait("shop: main content present",
+                    () -> wait.until(ExpectedConditions.presenceOfElementLocated(mainContentLocator)));
+            log.debug("Main content loaded");
 
             // Strategy 3: Wait for key elements to be clickable
-            By keyElements = By.cssSelector("a, button, input, .product");
-            wait.until(ExpectedConditions.elementToBeClickable(keyElements));
-            System.out.println("Key elements are clickable");
+            By keyElements = LocatorRegistry.single(page, "keyElements",
+                    By.cssSelector("#header a"), By.cssSelector("#search_widget input"),
+                    By.cssSelector("a, button, input, .product"));
+            timedWait("shop: key elements clickable",
+                    () -> wait.until(ExpectedConditions.elementToBeClickable(keyElements)));
+            log.debug("Key elements are clickable");
 
         } catch (Exception e) {
-            System.out.println("Shop loading wait completed with exception: " + e.getMessage());
+            log.warn("Shop loading wait completed with exception: {}", e.getMessage());
         }
 
-        System.out.println("Shop loading wait finished");
+        log.debug("Shop loading wait finished");
     }
 
     // Alternative method using JavaScript ready state
     protected void waitForPageToLoadCompletely() {
-        System.out.println("Waiting for page to load completely...");
+        log.debug("Waiting for page to load completely...");
 
         try {
             // Wait for JavaScript to complete loading
-            wait.until(driver -> {
+            timedWait("page: document ready", () -> wait.until(driver -> {
                 String readyState = ((org.openqa.selenium.JavascriptExecutor) driver)
                         .executeScript("return document.readyState;").toString();
                 return readyState.equals("complete");
-            });
-            System.out.println("Document ready state is complete");
+            }));
+            log.debug("Document ready state is complete");
+            PageWeight.sample(driver);
 
-            // Additional wait for dynamic content
-            Thread.sleep(5000);
-            System.out.println("Page load wait completed");
+            // Wait for dynamic content to settle (was a fixed 5 second sleep)
+            long settled = quiescence.awaitQuiet(getClass().getSimpleName() + " dynamic content", 5000);
+            log.info("Page load wait completed, content settled after {} ms", settled);
 
         } catch (Exception e) {
-            System.out.println("Page load wait completed with exception: " + e.getMessage());
+            log.warn("Page load wait completed with exception: {}", e.getMessage());
         }
     }
 
@@ -71,22 +143,182 @@ public class BasePage {
         waitForPageToLoadCompletely();
     }
 
+    // Scroll without smooth-scroll animation so the element is in view as soon as the call returns
+    protected void scrollIntoView(WebElement element, String step) {
+        ((org.openqa.selenium.JavascriptExecutor) driver).executeScript(
+                "arguments[0].scrollIntoView({block: 'center', behavior: 'instant'});", element);
+        QuiescenceWait.recordSkippedSleep(step, 1000);
+    }
+
+    /**
+     * Fills form fields by name in a single executeScript call (strings for text inputs and
+     * radio values, booleans for checkboxes), dispatching input/change events. Fields listed
+     * in typedFields, or whose value the page rejected, are typed with real keystrokes instead.
+     * Returns the names of fields that do not exist on the page.
+     */
+    @SuppressWarnings("unchecked")
+    protected List<String> fillForm(Map<String, Object> fields, Set<String> typedFields) {
+        Map<String, Object> batch = new LinkedHashMap<>(fields);
+        batch.keySet().removeAll(typedFields);
+
+        Map<String, List<String>> result = (Map<String, List<String>>) ((org.openqa.selenium.JavascriptExecutor) driver)
+                .executeScript(Scripts.load("fill-form.js"), batch);
+        List<String> absent = new ArrayList<>(result.get("absent"));
+
+        List<String> needKeystrokes = new ArrayList<>(result.get("rejected"));
+        for (String name : fields.keySet()) {
+            if (typedFields.contains(name)) {
+                needKeystrokes.add(name);
+            }
+        }
+        for (String name : needKeystrokes) {
+            List<WebElement> elements = driver.findElements(By.name(name));
+            if (elements.isEmpty()) {
+                absent.add(name);
+                continue;
+            }
+            Object value = fields.get(name);
+            WebElement element = elements.get(0);
+            if (value instanceof Boolean) {
+                if (element.isSelected() != (Boolean) value) {
+                    element.click();
+                }
+            } else {
+                element.clear();
+                element.sendKeys(String.valueOf(value));
+            }
+        }
+        return absent;
+    }
+
+    /**
+     * Reads every element matching rowSelector in a single executeScript call. fields maps a
+     * field name to a selector inside the row ("url" yields the link's href, images their src,
+     * inputs their value, anything else its text); extras are read once from the document.
+     * The result holds "rows" (a list of field maps) and "extras" (a map).
+     */
+    @SuppressWarnings("unchecked")
+    protected Map<String, Object> extractRows(String rowSelector, Map<String, String> fields, Map<String, String> extras) {
+        return (Map<String, Object>) ((org.openqa.selenium.JavascriptExecutor) driver)
+                .executeScript(Scripts.load("extract-rows.js"), rowSelector, fields, extras);
+    }
+
+    /**
+     * Looks an element up without throwing: all locators are tried in order inside one
+     * executeScript call, so a miss costs neither a NoSuchElementException nor the implicit wait.
+     * Locator chains contribute their alternatives, the remembered winner first, and get the
+     * script's attempts recorded (winner and timings) as if they had resolved themselves.
+     * Each locator passed over before the match counts as an exception avoided, since a
+     * try/catch fallback would have thrown for it; findOptional's single probe never counts.
+     */
+    protected Optional<WebElement> findFirstOf(By... locators) {
+        return findFirstMatch(locators).map(match -> match.element);
+    }
+
+    // Like findFirstOf, but also tells which of the locators matched, for callers that branch on it
+    protected Optional<FirstMatch> findFirstMatch(By... locators) {
+        List<List<String>> remote = new ArrayList<>();
+        List<RemoteLocator> origins = new ArrayList<>();
+        for (int i = 0; i < locators.length; i++) {
+            addRemoteLocators(locators[i], i, null, -1, remote, origins);
+        }
+        List<?> result = (List<?>) ((org.openqa.selenium.JavascriptExecutor) driver)
+                .executeScript(Scripts.load("find-first.js"), remote, LocatorRegistry.auditAll());
+        int index = ((Number) result.get(0)).intValue();
+        List<?> millis = (List<?>) result.get(2);
+        List<?> hits = (List<?>) result.get(3);
+        for (int i = 0; i < millis.size(); i++) {
+            RemoteLocator origin = origins.get(i);
+            if (origin.chain != null) {
+                long nanos = (long) (((Number) millis.get(i)).doubleValue() * 1_000_000);
+                origin.chain.recordAttempt(origin.alternative, nanos, i == index || Boolean.TRUE.equals(hits.get(i)));
+            }
+        }
+        if (index < 0) {
+            EXCEPTIONS_AVOIDED.addAndGet(locators.length - 1);
+            return Optional.empty();
+        }
+        int argument = origins.get(index).argument;
+        EXCEPTIONS_AVOIDED.addAndGet(argument);
+        return Optional.of(new FirstMatch(argument, (WebElement) result.get(1)));
+    }
+
+    protected Optional<WebElement> findOptional(By locator) {
+        return findFirstOf(locator);
+    }
+
+    // Fallback lookups that would have thrown NoSuchElementException in a try/catch chain
+    public static long exceptionsAvoided() {
+        return EXCEPTIONS_AVOIDED.get();
+    }
+
+    private static void addRemoteLocators(By locator, int argument, LocatorChain chain, int alternative,
+                                          List<List<String>> remote, List<RemoteLocator> origins) {
+        if (locator instanceof LocatorChain) {
+            LocatorChain nested = (LocatorChain) locator;
+            By winner = nested.winner();
+            if (winner != null) {
+                addRemoteLocators(winner, argument, nested, nested.alternatives().indexOf(winner), remote, origins);
+            }
+            for (int i = 0; i < nested.alternatives().size(); i++) {
+                By candidate = nested.alternatives().get(i);
+                if (!candidate.equals(winner)) {
+                    addRemoteLocators(candidate, argument, nested, i, remote, origins);
+                }
+            }
+        } else if (locator instanceof By.Remotable) {
+            By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+            remote.add(Arrays.asList(parameters.using(), String.valueOf(parameters.value())));
+            origins.add(new RemoteLocator(argument, chain, alternative));
+        } else {
+            throw new IllegalArgumentException("Cannot resolve " + locator + " in a script");
+        }
+    }
+
+    protected static final class FirstMatch {
+        // Position of the matching locator among the findFirstMatch arguments
+        final int index;
+        final WebElement element;
+
+        private FirstMatch(int index, WebElement element) {
+            this.index = index;
+            this.element = element;
+        }
+    }
+
+    // Where a script locator came from: the findFirstOf argument, and the chain alternative if any
+    private static class RemoteLocator {
+        final int argument;
+        final LocatorChain chain;
+        final int alternative;
+
+        RemoteLocator(int argument, LocatorChain chain, int alternative) {
+            this.argument = argument;
+            this.chain = chain;
+            this.alternative = alternative;
+        }
+    }
+
     protected void waitForElementToBeVisible(WebElement element) {
-        wait.until(ExpectedConditions.visibilityOf(element));
+        timedWait("element visible", () -> wait.until(ExpectedConditions.visibilityOf(element)));
     }
 
     protected void waitForElementToBeClickable(WebElement element) {
-        wait.until(ExpectedConditions.elementToBeClickable(element));
+        timedWait("element clickable", () -> wait.until(ExpectedConditions.elementToBeClickable(element)));
     }
 
     protected void click(WebElement element) {
-        waitForElementToBeClickable(element);
-        element.click();
+        step("click", () -> {
+            waitForElementToBeClickable(element);
+            element.click();
+        });
     }
 
     protected void sendKeys(WebElement element, String text) {
-        waitForElementToBeVisible(element);
-        element.clear();
-        element.sendKeys(text);
+        step("sendKeys", () -> {
+            waitForElementToBeVisible(element);
+            element.clear();
+            element.sendKeys(text);
+        });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,45 @@
+package pages;
+
+/**
+ * One product line in the cart, as extracted by CartPage.getCartLines().
+ */
+public final class CartLine {
+    private final String name;
+    private final String price;
+    private final int quantity;
+    private final String url;
+    private final String imageSrc;
+
+    public CartLine(String name, String price, int quantity, String url, String imageSrc) {
+        this.name = name;
+        this.price = price;
+        this.quantity = quantity;
+        this.url = url;
+        this.imageSrc = imageSrc;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getPrice() {
+        return price;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getImageSrc() {
+        return imageSrc;
+    }
+
+    @Override
+    public String toString() {
+        return quantity + " x " + name + " (" + price + ")";
+    }
+}
@@ -4,21 +4,46 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import utils.LocatorRegistry;
 
 public class CartPage extends BasePage {
 
-    private By cartItems = By.cssSelector(".cart-item, .cart-detailed, tr.cart-item");
-    private By productNames = By.cssSelector(".product-name, .cart-item-name");
-    private By cartQuantity = By.cssSelector(".cart-quantity, .js-cart-line-product-quantity");
-    private By cartSubtotal = By.cssSelector(".cart-subtotal, .subtotal");
-    private By emptyCartMessage = By.cssSelector(".no-items, .cart-empty");
-    private By proceedToCheckoutBtn = By.cssSelector(".checkout, .btn-primary[href*='order']");
+    private static final String CART_ROWS = ".cart-item, .cart-detailed, tr.cart-item";
+    private static final Map<String, String> LINE_FIELDS = new LinkedHashMap<>();
+    private static final Map<String, String> CART_EXTRAS = new LinkedHashMap<>();
+
+    static {
+        LINE_FIELDS.put("name", ".product-name, .cart-item-name");
+        LINE_FIELDS.put("price", ".price, .product-price");
+        LINE_FIELDS.put("quantity", ".cart-quantity, .js-cart-line-product-quantity");
+        LINE_FIELDS.put("url", ".product-name, .cart-item-name, a");
+        LINE_FIELDS.put("image", "img");
+        CART_EXTRAS.put("subtotal", ".cart-subtotal, .subtotal");
+    }
+
+    private By cartItems = LocatorRegistry.many("CartPage", "cartItems",
+            By.cssSelector(".cart-items .cart-item"), By.cssSelector(CART_ROWS));
+    private By emptyCartMessage = LocatorRegistry.single("CartPage", "emptyCartMessage",
+            By.cssSelector(".no-items"), By.cssSelector(".cart-empty"));
+    private By proceedToCheckoutBtn = LocatorRegistry.single("CartPage", "proceedToCheckout",
+            By.cssSelector(".cart-detailed-actions .btn-primary"), By.cssSelector(".checkout"),
+            By.cssSelector(".btn-primary[href*='order']"));
+
+    // Lines and subtotal read by the last extraction; the cart page has no actions that change them
+    private List<CartLine> lines;
+    private String subtotalText;
 
     public CartPage(WebDriver driver) {
         super(driver);
-        waitForFullLoad();
-        verifyCartPageLoaded();
+        step("load", () -> {
+            waitForFullLoad();
+            verifyCartPageLoaded();
+        });
     }
 
     private void verifyCartPageLoaded() {
@@ -28,67 +53,84 @@ public class CartPage extends BasePage {
                     ExpectedConditions.presenceOfElementLocated(cartItems),
                     ExpectedConditions.presenceOfElementLocated(emptyCartMessage)
             ));
-            System.out.println("Cart page loaded successfully");
+            log.info("Cart page loaded successfully");
         } catch (Exception e) {
-            System.out.println("Cart page might not have loaded properly: " + e.getMessage());
+            log.warn("Cart page might not have loaded properly: {}", e.getMessage());
         }
     }
 
+    /**
+     * All cart lines, read together with the subtotal in one script call and cached.
+     */
+    @SuppressWarnings("unchecked")
+    public List<CartLine> getCartLines() {
+        if (lines == null) {
+            List<CartLine> rows = new ArrayList<>();
+            Map<String, Object> snapshot = extractRows(CART_ROWS, LINE_FIELDS, CART_EXTRAS);
+            for (Map<String, String> row : (List<Map<String, String>>) snapshot.get("rows")) {
+                rows.add(new CartLine(row.get("name"), row.get("price"), parseQuantity(row.get("quantity")),
+                        row.get("url"), row.get("image")));
+            }
+            subtotalText = ((Map<String, String>) snapshot.get("extras")).get("subtotal");
+            lines = Collections.unmodifiableList(rows);
+        }
+        return lines;
+    }
+
     public boolean isProductInCart() {
-        System.out.println("Checking if product is in cart...");
+        log.debug("Checking if product is in cart...");
 
-        List<WebElement> items = driver.findElements(cartItems);
+        List<CartLine> items = getCartLines();
         boolean hasItems = !items.isEmpty();
 
-        System.out.println("Cart has items: " + hasItems + " (Count: " + items.size() + ")");
+        log.info("Cart has items: {} (Count: {})", hasItems, items.size());
 
-        if (hasItems) {
-            // Log product names for verification
-            List<WebElement> productNameElements = driver.findElements(productNames);
-            for (WebElement product : productNameElements) {
-                System.out.println("Product in cart: " + product.getText());
-            }
+        // Log product names for verification
+        for (CartLine line : items) {
+            log.info("Product in cart: {}", line.getName());
         }
 
         return hasItems;
     }
 
     public int getCartItemCount() {
-        List<WebElement> items = driver.findElements(cartItems);
-        return items.size();
+        return getCartLines().size();
     }
 
     public String getFirstProductName() {
         try {
-            List<WebElement> productNameElements = driver.findElements(productNames);
-            if (!productNameElements.isEmpty()) {
-                return productNameElements.get(0).getText();
+            List<CartLine> items = getCartLines();
+            if (!items.isEmpty() && items.get(0).getName() != null) {
+                return items.get(0).getName();
             }
         } catch (Exception e) {
-            System.out.println("Could not get product name from cart: " + e.getMessage());
+            log.warn("Could not get product name from cart: {}", e.getMessage());
         }
         return "";
     }
 
     public boolean isCartEmpty() {
-        try {
-            WebElement emptyMessage = driver.findElement(emptyCartMessage);
-            return emptyMessage.isDisplayed();
-        } catch (Exception e) {
-            return false;
-        }
+        return findOptional(emptyCartMessage).map(WebElement::isDisplayed).orElse(false);
     }
 
     public double getCartSubtotal() {
         try {
-            WebElement subtotalElement = driver.findElement(cartSubtotal);
-            String subtotalText = subtotalElement.getText();
+            getCartLines();
             // Extract numeric value from text like "$29.00" or "€29,00"
             String numericValue = subtotalText.replaceAll("[^0-9.,]", "").replace(",", ".");
             return Double.parseDouble(numericValue);
         } catch (Exception e) {
-            System.out.println("Could not get cart subtotal: " + e.getMessage());
+            log.warn("Could not get cart subtotal: {}", e.getMessage());
             return 0.0;
         }
     }
+
+    private static int parseQuantity(String quantity) {
+        try {
+            return Integer.parseInt(quantity.replaceAll("[^0-9]", ""));
+        } catch (Exception e) {
+            // Layouts without a quantity field show one unit per line
+            return 1;
+        }
+    }
 }
\ No newline at end of file
@@ -4,43 +4,45 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.Keys;
+import utils.LocatorRegistry;
 
 public class HomePage extends BasePage {
 
     private By signInLink = By.cssSelector("a[title='Log in to your customer account']");
-    private By searchInput = By.cssSelector("input[name='s']");
-    private By userAccount = By.cssSelector(".account");
+    private By searchInput = LocatorRegistry.single("HomePage", "searchInput",
+            By.cssSelector("#search_widget input[name='s']"), By.cssSelector("input[name='s']"));
+    private By userAccount = LocatorRegistry.single("HomePage", "userAccount",
+            By.cssSelector(".user-info .account"), By.cssSelector(".account"));
 
     public HomePage(WebDriver driver) {
         super(driver);
-        waitForFullLoad();
+        step("load", this::waitForFullLoad);
     }
 
     public LoginPage goToLoginPage() {
-        WebElement signIn = driver.findElement(signInLink);
-        signIn.click();
-        waitForFullLoad();
-        return new LoginPage(driver);
+        return step("goToLoginPage", () -> {
+            WebElement signIn = driver.findElement(signInLink);
+            signIn.click();
+            waitForFullLoad();
+            return new LoginPage(driver);
+        });
     }
 
     public SearchPage searchProduct(String productName) {
-        System.out.println("Searching for: " + productName);
+        return retryableStep("searchProduct", () -> {
+            log.info("Searching for: {}", productName);
 
-        WebElement searchBox = driver.findElement(searchInput);
-        searchBox.clear();
-        searchBox.sendKeys(productName);
-        searchBox.sendKeys(Keys.ENTER);
+            WebElement searchBox = driver.findElement(searchInput);
+            searchBox.clear();
+            searchBox.sendKeys(productName);
+            searchBox.sendKeys(Keys.ENTER);
 
-        waitForFullLoad();
-        return new SearchPage(driver);
+            waitForFullLoad();
+            return new SearchPage(driver);
+        });
     }
 
     public boolean isUserLoggedIn() {
-        try {
-            WebElement accountElement = driver.findElement(userAccount);
-            return accountElement.isDisplayed();
-        } catch (Exception e) {
-            return false;
-        }
+        return findOptional(userAccount).map(WebElement::isDisplayed).orElse(false);
     }
-}
\ No newline at end of file
+}
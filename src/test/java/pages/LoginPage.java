@@ -3,40 +3,49 @@ package pages;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import utils.LocatorRegistry;
 
 public class LoginPage extends BasePage {
 
-    private By createAccountLink = By.xpath("//a[contains(text(), 'Create one here')]");
+    private By createAccountLink = LocatorRegistry.single("LoginPage", "createAccountLink",
+            By.cssSelector("a[data-link-action='display-register-form']"),
+            By.cssSelector(".no-account a"),
+            By.xpath("//a[contains(text(), 'Create one here')]"));
     private By emailInput = By.name("email");
     private By passwordInput = By.name("password");
-    private By signInButton = By.id("submit-login");
+    private By signInButton = LocatorRegistry.single("LoginPage", "signInButton",
+            By.id("submit-login"), By.cssSelector("#login-form button[type='submit']"));
 
     public LoginPage(WebDriver driver) {
         super(driver);
-        waitForShopToLoad();
+        step("load", this::waitForShopToLoad);
     }
 
     public AuthenticationPage goToRegistration() {
-        WebElement createAccount = driver.findElement(createAccountLink);
-        createAccount.click();
-        waitForShopToLoad();
-        return new AuthenticationPage(driver);
+        return step("goToRegistration", () -> {
+            WebElement createAccount = driver.findElement(createAccountLink);
+            createAccount.click();
+            waitForShopToLoad();
+            return new AuthenticationPage(driver);
+        });
     }
 
     // Optional: Method for login if needed later
     public HomePage login(String email, String password) {
-        WebElement emailField = driver.findElement(emailInput);
-        emailField.clear();
-        emailField.sendKeys(email);
+        return step("login", () -> {
+            WebElement emailField = driver.findElement(emailInput);
+            emailField.clear();
+            emailField.sendKeys(email);
 
-        WebElement passwordField = driver.findElement(passwordInput);
-        passwordField.clear();
-        passwordField.sendKeys(password);
+            WebElement passwordField = driver.findElement(passwordInput);
+            passwordField.clear();
+            passwordField.sendKeys(password);
 
-        WebElement signInBtn = driver.findElement(signInButton);
-        signInBtn.click();
-        waitForShopToLoad();
+            WebElement signInBtn = driver.findElement(signInButton);
+            signInBtn.click();
+            waitForShopToLoad();
 
-        return new HomePage(driver);
+            return new HomePage(driver);
+        });
     }
-}
\ No newline at end of file
+}
@@ -1,114 +1,147 @@
 package pages;
 
+import java.util.Optional;
 import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
+import utils.LocatorRegistry;
 
 public class ProductPage extends BasePage {
 
-    private By productImage = By.cssSelector(".product-cover img, .product-images img");
-    private By addToCartButton = By.cssSelector(".add-to-cart, .btn-primary[data-button-action='add-to-cart']");
-    private By productName = By.cssSelector(".h1, h1[itemprop='name']");
-    private By cartModal = By.cssSelector(".cart-modal, #blockcart-modal, .modal-dialog");
-    private By proceedToCheckout = By.cssSelector("a[href*='controller=cart'], .btn-primary[href*='cart']");
-    private By continueShopping = By.cssSelector(".btn-secondary, .btn[data-dismiss='modal']");
+    private By productImage = LocatorRegistry.single("ProductPage", "productImage",
+            By.cssSelector(".product-cover img"), By.cssSelector(".product-images img"));
+    private By addToCartButton = LocatorRegistry.single("ProductPage", "addToCartButton",
+            By.cssSelector(".product-add-to-cart .add-to-cart"), By.cssSelector(".add-to-cart"),
+            By.cssSelector(".btn-primary[data-button-action='add-to-cart']"));
+    private By productName = LocatorRegistry.single("ProductPage", "productName",
+            By.cssSelector("h1[itemprop='name']"), By.cssSelector(".h1"));
+    private By cartModal = LocatorRegistry.single("ProductPage", "cartModal",
+            By.id("blockcart-modal"), By.cssSelector(".cart-modal"), By.cssSelector(".modal-dialog"));
+    private By proceedToCheckout = LocatorRegistry.single("ProductPage", "proceedToCheckout",
+            By.cssSelector("#blockcart-modal .btn-primary[href*='cart']"),
+            By.cssSelector("a[href*='controller=cart']"), By.cssSelector(".btn-primary[href*='cart']"));
+    private By continueShopping = LocatorRegistry.single("ProductPage", "continueShopping",
+            By.cssSelector("#blockcart-modal [data-dismiss='modal']"), By.cssSelector(".btn-secondary"),
+            By.cssSelector(".btn[data-dismiss='modal']"));
+    private By cartIcon = LocatorRegistry.single("ProductPage", "cartIcon",
+            By.cssSelector(".blockcart .shopping-cart"), By.cssSelector(".shopping-cart, .cart-preview"),
+            By.cssSelector("a[href*='cart']"));
+    private By headerCartLink = LocatorRegistry.single("ProductPage", "headerCartLink",
+            By.cssSelector(".blockcart a[href*='cart']"), By.cssSelector("a.shopping-cart[href]"),
+            By.cssSelector("a[href*='controller=cart']"));
 
     public ProductPage(WebDriver driver) {
         super(driver);
-        waitForFullLoad();
+        step("load", this::waitForFullLoad);
     }
 
     public boolean hasProductImage() {
-        System.out.println("Checking if product has an image...");
-        try {
-            WebElement image = wait.until(ExpectedConditions.presenceOfElementLocated(productImage));
-            boolean isDisplayed = image.isDisplayed();
-            boolean hasSrc = image.getAttribute("src") != null && !image.getAttribute("src").isEmpty();
-
-            System.out.println("Product image - Displayed: " + isDisplayed + ", Has source: " + hasSrc);
-            return isDisplayed && hasSrc;
-        } catch (Exception e) {
-            System.out.println("Product image not found: " + e.getMessage());
-            return false;
-        }
+        return step("hasProductImage", () -> {
+            log.debug("Checking if product has an image...");
+            try {
+                WebElement image = wait.until(ExpectedConditions.presenceOfElementLocated(productImage));
+                boolean isDisplayed = image.isDisplayed();
+                boolean hasSrc = image.getAttribute("src") != null && !image.getAttribute("src").isEmpty();
+
+                log.debug("Product image - Displayed: {}, Has source: {}", isDisplayed, hasSrc);
+                return isDisplayed && hasSrc;
+            } catch (Exception e) {
+                log.warn("Product image not found: {}", e.getMessage());
+                return false;
+            }
+        });
     }
 
-    public void addToCart() throws InterruptedException {
-        System.out.println("Adding product to cart...");
+    public void addToCart() {
+        step("addToCart", () -> {
+            log.debug("Adding product to cart...");
 
-        try {
-            WebElement addButton = wait.until(ExpectedConditions.elementToBeClickable(addToCartButton));
+            try {
+                WebElement addButton = wait.until(ExpectedConditions.elementToBeClickable(addToCartButton));
 
-            // Scroll to the button
-            ((org.openqa.selenium.JavascriptExecutor) driver).executeScript(
-                    "arguments[0].scrollIntoView(true);", addButton);
-            Thread.sleep(1000);
+                // Scroll to the button
+                scrollIntoView(addButton, "ProductPage scroll to add to cart");
 
-            addButton.click();
-            System.out.println("Clicked Add to Cart button");
+                addButton.click();
+                log.debug("Clicked Add to Cart button");
 
-            // Wait for cart modal to appear
-            waitForCartModal();
+                // Wait for cart modal to appear
+                waitForCartModal();
 
-        } catch (Exception e) {
-            System.out.println("Could not add product to cart: " + e.getMessage());
-            throw e;
-        }
+            } catch (Exception e) {
+                log.warn("Could not add product to cart: {}", e.getMessage());
+                throw e;
+            }
+        });
+    }
+
+    // The single lookup may see a modal button mid-animation; wait on that element instead of locating it again
+    private void clickWhenClickable(WebElement element) {
+        wait.until(ExpectedConditions.elementToBeClickable(element)).click();
     }
 
     private void waitForCartModal() {
         try {
-            wait.until(ExpectedConditions.visibilityOfElementLocated(cartModal));
-            System.out.println("Cart modal appeared");
+            WebElement modal = wait.until(ExpectedConditions.visibilityOfElementLocated(cartModal));
+            log.debug("Cart modal appeared");
 
-            // Wait a bit more for animation
-            Thread.sleep(2000);
+            // Wait for the fade-in animation to finish (was a fixed 2 second sleep)
+            long settled = quiescence.awaitAnimationsDone("ProductPage cart modal animation", modal, 2000);
+            log.info("Cart modal settled after {} ms", settled);
         } catch (Exception e) {
-            System.out.println("Cart modal might not have appeared: " + e.getMessage());
+            log.warn("Cart modal might not have appeared: {}", e.getMessage());
         }
     }
 
     public CartPage proceedToCart() {
-        System.out.println("Proceeding to cart...");
-
-        try {
-            // Try to find and click "Proceed to checkout" in the modal
-            WebElement checkoutBtn = wait.until(ExpectedConditions.elementToBeClickable(proceedToCheckout));
-            checkoutBtn.click();
-            System.out.println("Clicked Proceed to Cart/Checkout");
-        } catch (Exception e) {
-            System.out.println("Could not find proceed button in modal: " + e.getMessage());
+        return retryableStep("proceedToCart", () -> {
+            log.debug("Proceeding to cart...");
 
-            // Alternative: If modal has continue shopping, close it and navigate to cart via header
-            try {
-                WebElement continueBtn = driver.findElement(continueShopping);
-                continueBtn.click();
-                System.out.println("Clicked Continue Shopping");
-
-                // Navigate to cart via header cart icon
-                By cartIcon = By.cssSelector(".shopping-cart, .cart-preview, a[href*='cart']");
-                WebElement cart = driver.findElement(cartIcon);
-                cart.click();
-                System.out.println("Navigated to cart via header icon");
-            } catch (Exception ex) {
-                System.out.println("Could not navigate to cart: " + ex.getMessage());
-                // Direct navigation as last resort
-                driver.get(driver.getCurrentUrl().replace("product", "cart"));
-                System.out.println("Direct navigation to cart");
+            // One wait for the modal (normally done by addToCart already), then one lookup for every way to the cart
+            if (!findOptional(cartModal).map(WebElement::isDisplayed).orElse(false)) {
+                waitForCartModal();
+            }
+            Optional<FirstMatch> match = findFirstMatch(proceedToCheckout, continueShopping, cartIcon);
+            int matched = match.map(m -> m.index).orElse(-1);
+            if (matched == 0) {
+                clickWhenClickable(match.get().element);
+                log.debug("Clicked Proceed to Cart/Checkout");
+            } else {
+                log.warn("No proceed button in the cart modal");
+                if (matched == 1) {
+                    // Close the modal and go to the cart via the header
+                    clickWhenClickable(match.get().element);
+                    log.debug("Clicked Continue Shopping");
+                    match = findFirstMatch(cartIcon);
+                    matched = match.isPresent() ? 2 : -1;
+                }
+                if (matched == 2) {
+                    clickWhenClickable(match.get().element);
+                    log.info("Navigated to cart via header icon");
+                } else {
+                    log.warn("Could not navigate to cart: no cart icon");
+                    // Direct navigation as last resort
+                    driver.get(driver.getCurrentUrl().replace("product", "cart"));
+                    log.info("Direct navigation to cart");
+                }
             }
-        }
 
-        waitForFullLoad();
-        return new CartPage(driver);
+            waitForFullLoad();
+            return new CartPage(driver);
+        }, () -> {
+            // A retry opens the cart directly rather than going through the modal again
+            String cartUrl = findOptional(headerCartLink).map(link -> link.getAttribute("href"))
+                    .orElseThrow(() -> new NoSuchElementException("No cart link in the page header"));
+            log.info("Opening cart directly: {}", cartUrl);
+            driver.get(cartUrl);
+            waitForFullLoad();
+            return new CartPage(driver);
+        });
     }
 
     public String getProductName() {
-        try {
-            WebElement nameElement = driver.findElement(productName);
-            return nameElement.getText();
-        } catch (Exception e) {
-            return "Unknown Product";
-        }
+        return findOptional(productName).map(WebElement::getText).orElse("Unknown Product");
     }
 }
\ No newline at end of file
@@ -1,76 +1,116 @@
 package pages;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
+import utils.LocatorRegistry;
 
 public class SearchPage extends BasePage {
 
-    private By searchResults = By.cssSelector(".products article");
-    private By firstProduct = By.cssSelector(".products article:first-child a");
-    private By productNames = By.cssSelector(".product-title a");
+    private static final String RESULT_ROWS = ".products article";
+    private static final Map<String, String> RESULT_FIELDS = new LinkedHashMap<>();
+
+    static {
+        RESULT_FIELDS.put("name", ".product-title a, .product-title");
+        RESULT_FIELDS.put("price", ".price");
+        RESULT_FIELDS.put("url", ".product-title a, a");
+        RESULT_FIELDS.put("image", "img");
+    }
+
+    private By searchResults = By.cssSelector(RESULT_ROWS);
+    private By firstProduct = LocatorRegistry.single("SearchPage", "firstProduct",
+            By.cssSelector(".products article:first-child .product-title a"),
+            By.cssSelector(".products article:first-child a"));
+    private By productNames = LocatorRegistry.many("SearchPage", "productNames", By.cssSelector(".product-title a"));
     private By searchHeader = By.cssSelector(".page-header");
 
+    // Rows read by the last extraction, cleared when this page navigates away
+    private List<SearchResult> results;
+
     public SearchPage(WebDriver driver) {
         super(driver);
-        waitForFullLoad();
-        verifySearchResults();
+        step("load", () -> {
+            waitForFullLoad();
+            verifySearchResults();
+        });
     }
 
     private void verifySearchResults() {
         try {
             wait.until(ExpectedConditions.presenceOfElementLocated(searchResults));
-            List<WebElement> results = driver.findElements(searchResults);
-            System.out.println("Found " + results.size() + " search results");
+            log.info("Found {} search results", getResults().size());
         } catch (Exception e) {
-            System.out.println("No search results found or page not loaded properly");
+            log.warn("No search results found or page not loaded properly");
         }
     }
 
     public ProductPage selectFirstProduct() {
-        System.out.println("Selecting first search result...");
+        // A retry opens the first result's URL directly, in case the click landed but the page did not load
+        String[] firstResultUrl = new String[1];
+        return retryableStep("selectFirstProduct", () -> {
+            log.debug("Selecting first search result...");
+            List<SearchResult> rows = getResults();
+            firstResultUrl[0] = rows.isEmpty() ? null : rows.get(0).getUrl();
+            results = null;
 
-        try {
-            WebElement firstProductLink = driver.findElement(firstProduct);
+            // The first result link, or failing that the first product title
+            WebElement firstProductLink = findFirstOf(firstProduct, productNames)
+                    .orElseThrow(() -> new RuntimeException("No products found in search results"));
             // Scroll to the product to ensure it's visible
-            ((org.openqa.selenium.JavascriptExecutor) driver).executeScript(
-                    "arguments[0].scrollIntoView(true);", firstProductLink);
-            Thread.sleep(1000);
+            scrollIntoView(firstProductLink, "SearchPage scroll to first product");
 
             firstProductLink.click();
-            System.out.println("Clicked on first product");
-        } catch (Exception e) {
-            System.out.println("Could not click first product: " + e.getMessage());
-            // Try alternative approach
-            List<WebElement> products = driver.findElements(productNames);
-            if (!products.isEmpty()) {
-                products.get(0).click();
-                System.out.println("Clicked first product using alternative locator");
-            } else {
-                throw new RuntimeException("No products found in search results");
+            log.debug("Clicked on first product");
+
+            waitForFullLoad();
+            return new ProductPage(driver);
+        }, () -> {
+            if (firstResultUrl[0] == null || firstResultUrl[0].isEmpty()) {
+                throw new NoSuchElementException("No product URL captured from the search results");
             }
-        }
+            log.info("Opening first product directly: {}", firstResultUrl[0]);
+            driver.get(firstResultUrl[0]);
+            waitForFullLoad();
+            return new ProductPage(driver);
+        });
+    }
 
-        waitForFullLoad();
-        return new ProductPage(driver);
+    /**
+     * All result tiles, read in one script call and cached until this page navigates away.
+     */
+    @SuppressWarnings("unchecked")
+    public List<SearchResult> getResults() {
+        if (results == null) {
+            List<SearchResult> rows = new ArrayList<>();
+            Map<String, Object> snapshot = extractRows(RESULT_ROWS, RESULT_FIELDS, Collections.emptyMap());
+            for (Map<String, String> row : (List<Map<String, String>>) snapshot.get("rows")) {
+                rows.add(new SearchResult(row.get("name"), row.get("price"), row.get("url"), row.get("image")));
+            }
+            results = Collections.unmodifiableList(rows);
+        }
+        return results;
     }
 
     public String getFirstProductName() {
         try {
-            List<WebElement> products = driver.findElements(productNames);
-            if (!products.isEmpty()) {
-                return products.get(0).getText();
+            List<SearchResult> rows = getResults();
+            if (!rows.isEmpty()) {
+                return rows.get(0).getName();
             }
         } catch (Exception e) {
-            System.out.println("Could not get first product name: " + e.getMessage());
+            log.warn("Could not get first product name: {}", e.getMessage());
         }
         return "";
     }
 
     public int getSearchResultsCount() {
-        List<WebElement> results = driver.findElements(searchResults);
-        return results.size();
+        return getResults().size();
     }
 }
\ No newline at end of file
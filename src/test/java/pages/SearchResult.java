@@ -0,0 +1,39 @@
+package pages;
+
+/**
+ * One product tile on the search results page, as extracted by SearchPage.getResults().
+ */
+public final class SearchResult {
+    private final String name;
+    private final String price;
+    private final String url;
+    private final String imageSrc;
+
+    public SearchResult(String name, String price, String url, String imageSrc) {
+        this.name = name;
+        this.price = price;
+        this.url = url;
+        this.imageSrc = imageSrc;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getPrice() {
+        return price;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getImageSrc() {
+        return imageSrc;
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + price + ") " + url;
+    }
+}
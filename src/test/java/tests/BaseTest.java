@@ -0,0 +1,96 @@
+package tests;
+
+import pages.BasePage;
+import utils.AdaptiveWait;
+import utils.AssetCache;
+import utils.DriverPool;
+import utils.DriverServices;
+import utils.LocatorRegistry;
+import utils.LogContext;
+import utils.PageWeight;
+import utils.ParallelModeListener;
+import utils.QuiescenceWait;
+import utils.ShopBootstrap;
+import utils.StepRetry;
+import utils.StepTimings;
+import utils.StandInShopServer;
+import config.Config;
+import java.lang.reflect.Method;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.BeforeSuite;
+
+/**
+ * Driver lifecycle shared by all test classes. The driver lives in the pool's ThreadLocal
+ * rather than in an instance field, so a single test instance can safely run its methods
+ * (and data-provider rows) on several threads at once.
+ */
+public abstract class BaseTest {
+    private static final Logger log = LoggerFactory.getLogger(BaseTest.class);
+
+    protected WebDriver getDriver() {
+        WebDriver driver = DriverPool.shared().current();
+        if (driver == null) {
+            throw new IllegalStateException("No driver checked out for thread " + Thread.currentThread().getName());
+        }
+        return driver;
+    }
+
+    @BeforeSuite(alwaysRun = true)
+    public void warmUpDriverPool() {
+        if (Config.POOL_WARM_UP > 0) {
+            StepTimings.time(StepTimings.Category.STEP, "DriverPool.warmUp",
+                    () -> DriverPool.shared().warmUp(Config.POOL_WARM_UP));
+        }
+    }
+
+    @BeforeMethod(alwaysRun = true)
+    public void setUp(Method method) {
+        LogContext.startSession(method.getName());
+        StepTimings.startTrace();
+        WebDriver driver = StepTimings.time(StepTimings.Category.STEP, "DriverPool.borrow",
+                () -> DriverPool.shared().borrow());
+        StepTimings.time(StepTimings.Category.STEP, "BaseTest.openShop", () -> {
+            if (Config.LOCAL_SHOP) {
+                log.info("Opening local stand-in shop...");
+                driver.get(StandInShopServer.shared().baseUrl());
+                return;
+            }
+            log.info("Opening PrestaShop demo site...");
+            new ShopBootstrap(driver).open();
+        });
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        DriverPool.shared().release();
+        StepTimings.stopTrace();
+        LogContext.endSession();
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public void shutDownDriverPool() {
+        System.out.println(QuiescenceWait.savingsReport());
+        System.out.println(PageWeight.report());
+        System.out.println(AdaptiveWait.saveLearnedReadyTimes());
+        System.out.println(ShopBootstrap.report());
+        System.out.println(LocatorRegistry.auditReport());
+        System.out.println(StepRetry.saveFlakinessReport());
+        System.out.println("NoSuchElementExceptions avoided by fallback lookups: " + BasePage.exceptionsAvoided());
+        String threadUsageReport = ParallelModeListener.threadUsageReport();
+        if (threadUsageReport != null) {
+            System.out.println(threadUsageReport);
+        }
+        DriverPool.shared().shutdown();
+        DriverServices.shutdown();
+        StandInShopServer.stopShared();
+        String assetCacheReport = AssetCache.closeShared();
+        if (assetCacheReport != null) {
+            System.out.println(assetCacheReport);
+        }
+    }
+}
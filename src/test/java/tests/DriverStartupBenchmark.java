@@ -0,0 +1,102 @@
+package tests;
+
+import config.Config;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+import utils.DriverServices;
+import utils.StepTimings;
+import utils.WebDriverFactory;
+
+/**
+ * Cold versus warm driver creation. The first createDriver() in a fresh JVM pays for binary
+ * resolution, the driver service start and the browser launch; later ones only launch the
+ * browser. Not part of testng.xml, run it on its own:
+ *
+ *   mvn test -Dtest=DriverStartupBenchmark -Dbenchmark.startupIterations=5
+ *
+ * Results go to .perf/driver-startup.json, and each run is appended to driver-startup-history.csv.
+ */
+public class DriverStartupBenchmark {
+
+    @Test
+    public void measureColdAndWarmStartup() {
+        int iterations = Config.STARTUP_BENCHMARK_ITERATIONS;
+        if (iterations < 2) {
+            throw new IllegalArgumentException("benchmark.startupIterations must be at least 2 (one cold and at least "
+                    + "one warm start), got " + iterations);
+        }
+        List<Long> millis = new ArrayList<>();
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            WebDriver driver = WebDriverFactory.createDriver();
+            millis.add((System.nanoTime() - start) / 1_000_000);
+            driver.quit();
+        }
+
+        long cold = millis.get(0);
+        List<Long> warm = millis.subList(1, millis.size());
+        long warmMin = warm.stream().mapToLong(Long::longValue).min().orElse(0);
+        long warmMax = warm.stream().mapToLong(Long::longValue).max().orElse(0);
+        double warmMean = warm.stream().mapToLong(Long::longValue).average().orElse(0);
+
+        System.out.printf("Driver startup - cold: %d ms, warm: mean %.0f ms (min %d, max %d) over %d runs, "
+                        + "shared service: %s%n",
+                cold, warmMean, warmMin, warmMax, warm.size(), Config.SHARED_DRIVER_SERVICE);
+        for (Map<String, Object> row : StepTimings.snapshot()) {
+            String name = String.valueOf(row.get("name"));
+            if (name.startsWith("DriverServices.") || name.startsWith("WebDriverFactory.")) {
+                System.out.printf("  %-40s count: %s, mean: %s ms, max: %s ms%n",
+                        name, row.get("count"), row.get("meanMs"), row.get("maxMs"));
+            }
+        }
+        writeResults(cold, warmMean, warmMin, warmMax, millis);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopDriverService() {
+        DriverServices.shutdown();
+    }
+
+    private void writeResults(long cold, double warmMean, long warmMin, long warmMax, List<Long> millis) {
+        String runAt = Instant.now().toString();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("runAt", runAt);
+        result.put("browser", Config.BROWSER);
+        result.put("sharedService", Config.SHARED_DRIVER_SERVICE);
+        result.put("coldMs", cold);
+        result.put("warmMeanMs", Math.round(warmMean));
+        result.put("warmMinMs", warmMin);
+        result.put("warmMaxMs", warmMax);
+        result.put("runsMs", millis);
+
+        File directory = new File(Config.PERF_HISTORY_DIR);
+        File history = new File(directory, "driver-startup-history.csv");
+        String line = String.join(",", runAt, Config.BROWSER, String.valueOf(Config.SHARED_DRIVER_SERVICE),
+                String.valueOf(cold), String.valueOf(Math.round(warmMean)), String.valueOf(warmMin),
+                String.valueOf(warmMax)) + "\n";
+        try {
+            Files.createDirectories(directory.toPath());
+            Files.write(new File(directory, "driver-startup.json").toPath(),
+                    new Json().toJson(result).getBytes(StandardCharsets.UTF_8));
+            if (!history.exists()) {
+                line = "runAt,browser,sharedService,coldMs,warmMeanMs,warmMinMs,warmMaxMs\n" + line;
+            }
+            Files.write(history.toPath(), line.getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.out.println("Could not write startup benchmark results: " + e.getMessage());
+        }
+    }
+}
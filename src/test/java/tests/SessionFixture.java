@@ -0,0 +1,104 @@
+package tests;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pages.AuthenticationPage;
+import pages.HomePage;
+import utils.SessionSnapshot;
+import utils.StepTimings;
+import utils.TestUser;
+import utils.UserPool;
+
+/**
+ * Provides a logged-in shop for tests that only need an authenticated user. The first caller
+ * logs in with an account kept from an earlier run (see {@link UserPool}) or registers through
+ * the UI, and captures the session; later callers get it restored directly.
+ * If the shop rejects the snapshot (e.g. the demo instance expired) the fixture falls back to
+ * a full UI registration and captures a fresh snapshot.
+ *
+ * Restored drivers share one customer account, and therefore its cart, so tests using this
+ * fixture should not assert exact cart contents.
+ */
+public final class SessionFixture {
+    private static final Logger log = LoggerFactory.getLogger(SessionFixture.class);
+    private static volatile SessionSnapshot snapshot;
+
+    private SessionFixture() {
+    }
+
+    // driver must already be on the shop's home page (as left by BaseTest.setUp)
+    public static HomePage loggedInHomePage(WebDriver driver) {
+        SessionSnapshot current = snapshot;
+        if (current != null) {
+            HomePage restored = restore(driver, current);
+            if (restored != null) {
+                return restored;
+            }
+        }
+        return registerAndCapture(driver, current);
+    }
+
+    // rejected is the snapshot this caller already tried (null if none), so it is not replayed again
+    private static synchronized HomePage registerAndCapture(WebDriver driver, SessionSnapshot rejected) {
+        // Another thread may have captured a session while this one waited for the lock
+        SessionSnapshot current = snapshot;
+        if (current != null && current != rejected) {
+            HomePage restored = restore(driver, current);
+            if (restored != null) {
+                return restored;
+            }
+        }
+        HomePage stored = loginWithStoredAccount(driver);
+        if (stored != null) {
+            return stored;
+        }
+        return StepTimings.time(StepTimings.Category.STEP, "SessionFixture.register", () -> {
+            HomePage homePage = new HomePage(driver);
+            AuthenticationPage authPage = homePage.goToLoginPage().goToRegistration();
+            authPage.fillRegistrationForm("Session", "Fixture");
+            HomePage loggedIn = authPage.submitRegistration();
+            if (!loggedIn.isUserLoggedIn()) {
+                throw new IllegalStateException("Registration did not log the user in");
+            }
+            snapshot = SessionSnapshot.capture(driver);
+            return loggedIn;
+        });
+    }
+
+    // Returns null, with the driver back on the shop's home page, when the shop rejects the snapshot
+    private static HomePage restore(WebDriver driver, SessionSnapshot current) {
+        HomePage restored = StepTimings.time(StepTimings.Category.STEP, "SessionFixture.restore",
+                () -> current.restoreInto(driver) ? new HomePage(driver) : null);
+        if (restored != null && restored.isUserLoggedIn()) {
+            log.info("Restored logged-in session from snapshot");
+            return restored;
+        }
+        log.warn("Session snapshot was rejected, falling back to UI registration");
+        driver.get(current.getShopUrl());
+        return null;
+    }
+
+    // Logging in skips the registration form; returns null when no stored account works for this shop
+    private static HomePage loginWithStoredAccount(WebDriver driver) {
+        UserPool pool = UserPool.shared();
+        if (!pool.persistsAccounts()) {
+            return null;
+        }
+        String shopUrl = UserPool.shopUrl(driver);
+        TestUser user = pool.registeredUser(shopUrl).orElse(null);
+        if (user == null) {
+            return null;
+        }
+        return StepTimings.time(StepTimings.Category.STEP, "SessionFixture.login", () -> {
+            HomePage homePage = new HomePage(driver).goToLoginPage().login(user.getEmail(), user.getPassword());
+            if (!homePage.isUserLoggedIn()) {
+                log.warn("Stored account {} was rejected, registering a new user", user.getEmail());
+                driver.get(shopUrl);
+                return null;
+            }
+            snapshot = SessionSnapshot.capture(driver);
+            return homePage;
+        });
+    }
+}
@@ -0,0 +1,63 @@
+package tests;
+
+import org.testng.SkipException;
+import utils.SessionSnapshot;
+
+/**
+ * Fixtures published by the tests in {@link ShopperFlowTest} for the tests that depend on them:
+ * a product found by search, and a logged-in session with that product in its cart (the
+ * logged-in user itself comes from {@link SessionFixture}). Each is written once by its
+ * producing test and read by any number of consumers on other threads.
+ */
+final class ShopperFixtures {
+    private static volatile Product product;
+    private static volatile Cart cart;
+
+    private ShopperFixtures() {
+    }
+
+    static void publishProduct(String name, String url) {
+        product = new Product(name, url);
+    }
+
+    static void publishCart(SessionSnapshot session, String url) {
+        cart = new Cart(session, url);
+    }
+
+    // Skip rather than fail when the producing test did not run, e.g. when a single test is selected
+    static Product product() {
+        Product current = product;
+        if (current == null) {
+            throw new SkipException("No product fixture: searchFindsProducts has not passed");
+        }
+        return current;
+    }
+
+    static Cart cart() {
+        Cart current = cart;
+        if (current == null) {
+            throw new SkipException("No cart fixture: addProductToCart has not passed");
+        }
+        return current;
+    }
+
+    static final class Product {
+        final String name;
+        final String url;
+
+        private Product(String name, String url) {
+            this.name = name;
+            this.url = url;
+        }
+    }
+
+    static final class Cart {
+        final SessionSnapshot session;
+        final String url;
+
+        private Cart(SessionSnapshot session, String url) {
+            this.session = session;
+            this.url = url;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package tests;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import pages.CartLine;
+import pages.CartPage;
+import pages.HomePage;
+import pages.ProductPage;
+import pages.SearchPage;
+import pages.SearchResult;
+import utils.SessionSnapshot;
+
+/**
+ * The complete scenario split into tests that each check one thing and start from a fixture
+ * instead of the previous step's browser:
+ *
+ *   registerAccount ----------------------------\
+ *   searchFindsProducts --> productHasImage      +--> addProductToCart --> cartContainsProduct
+ *                       \-----------------------/
+ *
+ * With -Dtest.parallel=methods, tests whose prerequisites have passed run concurrently on their
+ * own drivers, and a failure skips only the tests that depend on it.
+ * PrestaShopTest.testCompleteScenario keeps the serial flow; CriticalPathReport compares both.
+ */
+public class ShopperFlowTest extends BaseTest {
+    private static final Logger log = LoggerFactory.getLogger(ShopperFlowTest.class);
+    private static final String SEARCH_TERM = "notebook";
+    private static final Pattern PRODUCT_ID_PARAMETER = Pattern.compile("[?&]id_product=(\\d+)");
+    private static final Pattern PRODUCT_ID_SEGMENT = Pattern.compile("(\\d+)(?:-|$)");
+
+    @Test
+    public void registerAccount() {
+        HomePage homePage = SessionFixture.loggedInHomePage(getDriver());
+        Assert.assertTrue(homePage.isUserLoggedIn(), "User should be logged in after registration");
+    }
+
+    @Test
+    public void searchFindsProducts() {
+        SearchPage searchPage = new HomePage(getDriver()).searchProduct(SEARCH_TERM);
+        Assert.assertTrue(searchPage.getSearchResultsCount() > 0, "Should find at least one '" + SEARCH_TERM + "' product");
+
+        SearchResult first = searchPage.getResults().get(0);
+        Assert.assertFalse(first.getUrl() == null || first.getUrl().isEmpty(), "First result should link to its product");
+        ShopperFixtures.publishProduct(first.getName(), first.getUrl());
+        log.info("Product fixture: {} ({})", first.getName(), first.getUrl());
+    }
+
+    @Test(dependsOnMethods = "searchFindsProducts")
+    public void productHasImage() {
+        ProductPage productPage = openProduct(getDriver());
+        Assert.assertTrue(productPage.hasProductImage(), "Product should have an image");
+    }
+
+    @Test(dependsOnMethods = {"registerAccount", "searchFindsProducts"})
+    public void addProductToCart() {
+        WebDriver driver = getDriver();
+        Assert.assertTrue(SessionFixture.loggedInHomePage(driver).isUserLoggedIn(), "User should start logged in");
+
+        ProductPage productPage = openProduct(driver);
+        productPage.addToCart();
+        CartPage cartPage = productPage.proceedToCart();
+        Assert.assertFalse(cartPage.isCartEmpty(), "Cart should not be empty after adding a product");
+        ShopperFixtures.publishCart(SessionSnapshot.capture(driver), driver.getCurrentUrl());
+    }
+
+    @Test(dependsOnMethods = "addProductToCart")
+    public void cartContainsProduct() {
+        WebDriver driver = getDriver();
+        ShopperFixtures.Cart cart = ShopperFixtures.cart();
+        Assert.assertTrue(cart.session.restoreInto(driver), "Cart session should be restorable");
+        driver.get(cart.url);
+
+        CartPage cartPage = new CartPage(driver);
+        Assert.assertTrue(cartPage.isProductInCart(), "Product should be in cart");
+        // The fixture account is shared, so other products may be in the cart too
+        ShopperFixtures.Product expected = ShopperFixtures.product();
+        boolean found = false;
+        for (CartLine line : cartPage.getCartLines()) {
+            found |= isSameProduct(expected, line);
+        }
+        Assert.assertTrue(found, "Cart should contain '" + expected.name + "' (" + expected.url + ")");
+    }
+
+    // By product id from the URLs; the theme truncates tile titles ("..."), so names only match as a prefix
+    private static boolean isSameProduct(ShopperFixtures.Product product, CartLine line) {
+        String productId = productId(product.url);
+        String lineId = productId(line.getUrl());
+        if (productId != null && lineId != null) {
+            return productId.equals(lineId);
+        }
+        String tileName = normalizeName(product.name);
+        return !tileName.isEmpty() && normalizeName(line.getName()).startsWith(tileName);
+    }
+
+    // id_product=<id>, the "<id>-slug.html" friendly URL, or the stand-in shop's /product/<id>
+    private static String productId(String url) {
+        if (url == null) {
+            return null;
+        }
+        Matcher query = PRODUCT_ID_PARAMETER.matcher(url);
+        if (query.find()) {
+            return query.group(1);
+        }
+        String path = url.split("[?#]", 2)[0];
+        Matcher segment = PRODUCT_ID_SEGMENT.matcher(path.substring(path.lastIndexOf('/') + 1));
+        return segment.lookingAt() ? segment.group(1) : null;
+    }
+
+    private static String normalizeName(String name) {
+        return name == null ? "" : name.replace("\u2026", "").replaceAll("\\.{3}$", "").trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static ProductPage openProduct(WebDriver driver) {
+        ShopperFixtures.Product product = ShopperFixtures.product();
+        driver.get(product.url);
+        return new ProductPage(driver);
+    }
+}
@@ -0,0 +1,269 @@
+package utils;
+
+import config.Config;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Drop-in WebDriverWait with adaptive polling and a time budget per page transition.
+ *
+ * Conditions are polled quickly at first (wait.initialPollMillis) and the interval doubles
+ * up to wait.elementPollMillis, so fast pages are detected sooner without hammering slow ones.
+ * Each wait is limited to timeout.element, and all waits inside one transition (the outermost
+ * page-object step on a thread) share timeout.transitionBudget, so chained waits cannot each
+ * use the full timeout. {@link #sharedBudget} stretches one budget over several transitions,
+ * which {@link StepRetry} uses so that the attempts of a retried step draw on the same time.
+ *
+ * Total wait time per transition is learned across runs (.perf/ready-times.json); transitions
+ * far above their usual ready time are reported as outliers.
+ */
+public class AdaptiveWait extends WebDriverWait {
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveWait.class);
+    private static final int MIN_SAMPLES_FOR_OUTLIERS = 5;
+    private static final double OUTLIER_SIGMAS = 3.0;
+    private static final long OUTLIER_FLOOR_MILLIS = 250;
+
+    private static final ThreadLocal<Transition> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<Long> SHARED_DEADLINE = new ThreadLocal<>();
+    private static final ConcurrentMap<String, ReadyTimes> LEARNED = loadLearned();
+    private static final List<String> OUTLIERS = new ArrayList<>();
+
+    private final WebDriver driver;
+    private final long timeoutMillis;
+
+    public AdaptiveWait(WebDriver driver) {
+        this(driver, Duration.ofSeconds(Config.ELEMENT_TIMEOUT_SECONDS));
+    }
+
+    public AdaptiveWait(WebDriver driver, Duration timeout) {
+        super(driver, timeout, Duration.ofMillis(Config.WAIT_POLL_MILLIS));
+        this.driver = driver;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    /**
+     * Runs action as a page transition. Nested calls on the same thread belong to the
+     * outermost transition and share its budget.
+     */
+    public static <T> T transition(String name, Supplier<T> action) {
+        if (CURRENT.get() != null) {
+            return action.get();
+        }
+        Transition transition = new Transition(name);
+        CURRENT.set(transition);
+        try {
+            return action.get();
+        } finally {
+            CURRENT.remove();
+            learn(transition);
+        }
+    }
+
+    /**
+     * Runs action with a single transition budget for every transition it starts; each still
+     * learns its own ready time. Nested calls use the outermost budget.
+     */
+    public static <T> T sharedBudget(Supplier<T> action) {
+        if (SHARED_DEADLINE.get() != null) {
+            return action.get();
+        }
+        SHARED_DEADLINE.set(System.currentTimeMillis() + Config.TRANSITION_BUDGET_SECONDS * 1000L);
+        try {
+            return action.get();
+        } finally {
+            SHARED_DEADLINE.remove();
+        }
+    }
+
+    // Time left in the enclosing shared budget, or Long.MAX_VALUE outside sharedBudget
+    public static long remainingSharedBudgetMillis() {
+        Long deadline = SHARED_DEADLINE.get();
+        return deadline == null ? Long.MAX_VALUE : Math.max(0, deadline - System.currentTimeMillis());
+    }
+
+    @Override
+    public <V> V until(Function<? super WebDriver, V> condition) {
+        Transition transition = CURRENT.get();
+        long limit = timeoutMillis;
+        if (transition != null) {
+            limit = Math.min(limit, transition.remainingMillis());
+        }
+
+        long start = System.nanoTime();
+        long poll = Math.min(Config.WAIT_INITIAL_POLL_MILLIS, Config.WAIT_POLL_MILLIS);
+        RuntimeException lastError = null;
+        try {
+            while (true) {
+                try {
+                    V value = condition.apply(driver);
+                    if (value != null && !Boolean.FALSE.equals(value)) {
+                        return value;
+                    }
+                } catch (NotFoundException | StaleElementReferenceException e) {
+                    lastError = e;
+                }
+
+                long elapsed = (System.nanoTime() - start) / 1_000_000;
+                if (elapsed >= limit) {
+                    String reason = transition != null && limit < timeoutMillis
+                            ? "transition budget of " + transition.name + " exhausted"
+                            : "tried for " + limit + " ms";
+                    throw new TimeoutException("Expected condition failed: waiting for " + condition
+                            + " (" + reason + ")", lastError);
+                }
+                sleepQuietly(Math.min(poll, limit - elapsed));
+                poll = Math.min(poll * 2, Config.WAIT_POLL_MILLIS);
+            }
+        } finally {
+            if (transition != null) {
+                transition.waitedNanos += System.nanoTime() - start;
+            }
+        }
+    }
+
+    private static void learn(Transition transition) {
+        long waitedMillis = transition.waitedNanos / 1_000_000;
+        ReadyTimes times = LEARNED.computeIfAbsent(transition.name, name -> new ReadyTimes());
+        String outlier = times.checkAndRecord(waitedMillis);
+        if (outlier != null) {
+            String message = transition.name + ": waited " + waitedMillis + " ms, " + outlier;
+            log.warn("Slow transition {}", message);
+            synchronized (OUTLIERS) {
+                OUTLIERS.add(message);
+            }
+        }
+    }
+
+    // Persists learned ready times and returns this run's outliers
+    public static String saveLearnedReadyTimes() {
+        Map<String, Object> data = new TreeMap<>();
+        LEARNED.forEach((name, times) -> data.put(name, times.toMap()));
+        File file = learnedFile();
+        try {
+            Files.createDirectories(file.getParentFile().toPath());
+            Files.write(file.toPath(), new Json().toJson(data).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            log.warn("Could not save learned ready times: {}", e.getMessage());
+        }
+
+        synchronized (OUTLIERS) {
+            if (OUTLIERS.isEmpty()) {
+                return "No slow transitions compared to previous runs";
+            }
+            StringBuilder report = new StringBuilder("Slow transitions compared to previous runs:\n");
+            for (String outlier : OUTLIERS) {
+                report.append("  ").append(outlier).append('\n');
+            }
+            return report.toString().trim();
+        }
+    }
+
+    private static ConcurrentMap<String, ReadyTimes> loadLearned() {
+        ConcurrentMap<String, ReadyTimes> learned = new ConcurrentHashMap<>();
+        File file = learnedFile();
+        if (!file.exists()) {
+            return learned;
+        }
+        try {
+            String json = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+            Map<String, Object> data = new Json().toType(json, Json.MAP_TYPE);
+            data.forEach((name, value) -> {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> times = (Map<String, Object>) value;
+                learned.put(name, ReadyTimes.fromMap(times));
+            });
+        } catch (Exception e) {
+            log.warn("Ignoring unreadable learned ready times: {}", e.getMessage());
+        }
+        return learned;
+    }
+
+    private static File learnedFile() {
+        return new File(Config.PERF_HISTORY_DIR, "ready-times.json");
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(Math.max(1, millis));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting", e);
+        }
+    }
+
+    private static class Transition {
+        private final String name;
+        private final long deadline;
+        private long waitedNanos;
+
+        Transition(String name) {
+            this.name = name;
+            long own = System.currentTimeMillis() + Config.TRANSITION_BUDGET_SECONDS * 1000L;
+            Long shared = SHARED_DEADLINE.get();
+            this.deadline = shared == null ? own : Math.min(own, shared);
+        }
+
+        long remainingMillis() {
+            return Math.max(0, deadline - System.currentTimeMillis());
+        }
+    }
+
+    // Running mean and variance (Welford) of the total wait time of one transition
+    private static class ReadyTimes {
+        private long count;
+        private double mean;
+        private double m2;
+
+        synchronized String checkAndRecord(long millis) {
+            String outlier = null;
+            if (count >= MIN_SAMPLES_FOR_OUTLIERS) {
+                double stdDev = Math.sqrt(m2 / (count - 1));
+                double threshold = mean + Math.max(OUTLIER_SIGMAS * stdDev, OUTLIER_FLOOR_MILLIS);
+                if (millis > threshold) {
+                    outlier = String.format("usually %.0f ms (+/- %.0f ms over %d runs)", mean, stdDev, count);
+                }
+            }
+            count++;
+            double delta = millis - mean;
+            mean += delta / count;
+            m2 += delta * (millis - mean);
+            return outlier;
+        }
+
+        synchronized Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("count", count);
+            map.put("meanMs", mean);
+            map.put("m2", m2);
+            return map;
+        }
+
+        static ReadyTimes fromMap(Map<String, Object> map) {
+            ReadyTimes times = new ReadyTimes();
+            times.count = ((Number) map.get("count")).longValue();
+            times.mean = ((Number) map.get("meanMs")).doubleValue();
+            times.m2 = ((Number) map.get("m2")).doubleValue();
+            return times;
+        }
+    }
+}
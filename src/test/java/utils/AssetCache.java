@@ -0,0 +1,286 @@
+package utils;
+
+import config.Config;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+/**
+ * Record-and-replay cache for the shop's static assets (CSS, JS, fonts, images).
+ *
+ * On first sight a static response is recorded to disk; afterwards the browser is served
+ * from the cache without touching the network. Bodies are content-addressed (SHA-256), so
+ * the same file behind several URLs is stored once, and the index is evicted in LRU order
+ * once it exceeds Config.ASSET_CACHE_MAX_MB. Cart, registration and other dynamic requests
+ * always pass through.
+ */
+public class AssetCache {
+    private static final Pattern STATIC_ASSET = Pattern.compile(
+            ".*\\.(css|js|mjs|woff2?|ttf|otf|eot|png|jpe?g|gif|svg|webp|avif|ico)$");
+    private static final Pattern DYNAMIC_REQUEST = Pattern.compile(
+            ".*(controller=|/cart|/order|/registration|/login|token=|ajax).*");
+    private static final List<String> SKIPPED_HEADERS = List.of(
+            "content-length", "content-encoding", "transfer-encoding", "set-cookie", "date", "connection");
+
+    private static AssetCache shared;
+
+    private final File objectsDir;
+    private final File indexFile;
+    private final long maxBytes;
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Entry> index = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong passedThrough = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public AssetCache(File directory, long maxBytes) {
+        this.objectsDir = new File(directory, "objects");
+        this.indexFile = new File(directory, "index.json");
+        this.maxBytes = maxBytes;
+        loadIndex();
+    }
+
+    public static synchronized AssetCache shared() {
+        if (shared == null) {
+            shared = new AssetCache(new File(Config.ASSET_CACHE_DIR), Config.ASSET_CACHE_MAX_MB * 1024L * 1024L);
+        }
+        return shared;
+    }
+
+    // Saves the shared cache's index and returns its per-run report, or null if it was never used
+    public static synchronized String closeShared() {
+        if (shared == null) {
+            return null;
+        }
+        shared.saveIndex();
+        String report = shared.report();
+        shared = null;
+        return report;
+    }
+
+    // Interception filter: replay cached static assets, record misses, pass everything else through
+    public Filter filter() {
+        return next -> request -> {
+            if (!isCacheable(request)) {
+                passedThrough.incrementAndGet();
+                return next.execute(request);
+            }
+
+            String url = request.getUri();
+            HttpResponse cached = lookup(url);
+            if (cached != null) {
+                return cached;
+            }
+
+            HttpResponse response = next.execute(request);
+            if (response.getStatus() == 200) {
+                byte[] body = Contents.bytes(response.getContent());
+                store(url, response, body);
+                response.setContent(Contents.bytes(body));
+            }
+            return response;
+        };
+    }
+
+    public static boolean isCacheable(HttpRequest request) {
+        if (request.getMethod() != HttpMethod.GET) {
+            return false;
+        }
+        String url = request.getUri().toLowerCase(Locale.ROOT);
+        String path = url.split("[?#]", 2)[0];
+        return STATIC_ASSET.matcher(path).matches() && !DYNAMIC_REQUEST.matcher(url).matches();
+    }
+
+    private HttpResponse lookup(String url) {
+        Entry entry;
+        synchronized (this) {
+            entry = index.get(key(url));
+        }
+        if (entry != null) {
+            try {
+                byte[] body = Files.readAllBytes(new File(objectsDir, entry.contentHash).toPath());
+                HttpResponse response = new HttpResponse().setStatus(200);
+                entry.headers.forEach(response::setHeader);
+                response.setContent(Contents.bytes(body));
+                hits.incrementAndGet();
+                bytesSaved.addAndGet(body.length);
+                return response;
+            } catch (IOException e) {
+                // Object file vanished; drop the entry and fetch again, unless another thread already evicted or replaced it
+                synchronized (this) {
+                    if (index.remove(key(url), entry)) {
+                        totalBytes -= entry.size;
+                    }
+                }
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    private void store(String url, HttpResponse response, byte[] body) {
+        Map<String, String> headers = new HashMap<>();
+        for (String name : response.getHeaderNames()) {
+            if (!SKIPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.put(name, response.getHeader(name));
+            }
+        }
+        String contentHash = sha256(body);
+
+        try {
+            File object = new File(objectsDir, contentHash);
+            if (!object.exists()) {
+                Files.createDirectories(objectsDir.toPath());
+                File temp = File.createTempFile(contentHash, ".tmp", objectsDir);
+                Files.write(temp.toPath(), body);
+                Files.move(temp.toPath(), object.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            System.out.println("Could not record asset " + url + ": " + e.getMessage());
+            return;
+        }
+
+        synchronized (this) {
+            Entry previous = index.put(key(url), new Entry(url, contentHash, body.length, headers));
+            if (previous != null) {
+                totalBytes -= previous.size;
+            }
+            totalBytes += body.length;
+            evictIfNeeded();
+        }
+    }
+
+    private synchronized void evictIfNeeded() {
+        Iterator<Map.Entry<String, Entry>> eldest = index.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Entry entry = eldest.next().getValue();
+            eldest.remove();
+            totalBytes -= entry.size;
+            evictions.incrementAndGet();
+            if (!isReferenced(entry.contentHash)) {
+                new File(objectsDir, entry.contentHash).delete();
+            }
+        }
+    }
+
+    private boolean isReferenced(String contentHash) {
+        for (Entry entry : index.values()) {
+            if (entry.contentHash.equals(contentHash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized void loadIndex() {
+        if (!indexFile.exists()) {
+            return;
+        }
+        try {
+            String json = new String(Files.readAllBytes(indexFile.toPath()), StandardCharsets.UTF_8);
+            List<Map<String, Object>> entries = new Json().toType(json, Json.LIST_OF_MAPS_TYPE);
+            for (Map<String, Object> item : entries) {
+                Entry entry = new Entry((String) item.get("url"), (String) item.get("contentHash"),
+                        ((Number) item.get("size")).longValue(), (Map<String, String>) item.get("headers"));
+                if (new File(objectsDir, entry.contentHash).exists()) {
+                    index.put(key(entry.url), entry);
+                    totalBytes += entry.size;
+                }
+            }
+        } catch (Exception e) {
+            System.out.println("Ignoring unreadable asset cache index: " + e.getMessage());
+            index.clear();
+            totalBytes = 0;
+        }
+    }
+
+    public synchronized void saveIndex() {
+        List<Map<String, Object>> entries = new ArrayList<>();
+        // Least recently used first, so reloading preserves the LRU order
+        for (Entry entry : index.values()) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("url", entry.url);
+            item.put("contentHash", entry.contentHash);
+            item.put("size", entry.size);
+            item.put("headers", entry.headers);
+            entries.add(item);
+        }
+        try {
+            Files.createDirectories(indexFile.getParentFile().toPath());
+            Files.write(indexFile.toPath(), new Json().toJson(entries).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            System.out.println("Could not save asset cache index: " + e.getMessage());
+        }
+    }
+
+    public double hitRatio() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0.0 : (double) hits.get() / total;
+    }
+
+    public long bytesSaved() {
+        return bytesSaved.get();
+    }
+
+    public synchronized String report() {
+        return String.format("Asset cache - hits: %d, misses: %d, hit ratio: %.2f, bytes saved: %.1f KB, "
+                        + "passed through: %d, evictions: %d, cached: %d entries / %.1f MB",
+                hits.get(), misses.get(), hitRatio(), bytesSaved.get() / 1024.0, passedThrough.get(),
+                evictions.get(), index.size(), totalBytes / 1024.0 / 1024.0);
+    }
+
+    private static String key(String url) {
+        return sha256(url.split("#", 2)[0].getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class Entry {
+        private final String url;
+        private final String contentHash;
+        private final long size;
+        private final Map<String, String> headers;
+
+        Entry(String url, String contentHash, long size, Map<String, String> headers) {
+            this.url = url;
+            this.contentHash = contentHash;
+            this.size = size;
+            this.headers = headers == null ? new HashMap<>() : headers;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package utils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+/**
+ * Times every WebDriver, WebElement, navigation and options call made through a decorated
+ * driver, recording them as COMMAND timings (e.g. "WebElement.click").
+ */
+public class CommandTimingListener implements WebDriverListener {
+    // Calls can nest (findElement returns a decorated element), so keep a stack per thread
+    private final ThreadLocal<Deque<Long>> starts = ThreadLocal.withInitial(ArrayDeque::new);
+    // Commands issued by the current thread, across all decorated drivers
+    private static final ThreadLocal<long[]> COMMAND_COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    public static long commandCount() {
+        return COMMAND_COUNT.get()[0];
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        COMMAND_COUNT.get()[0]++;
+        starts.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(method, "");
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(method, " (error)");
+    }
+
+    private void finish(Method method, String suffix) {
+        Long start = starts.get().poll();
+        if (start != null) {
+            StepTimings.record(StepTimings.Category.COMMAND,
+                    method.getDeclaringClass().getSimpleName() + "." + method.getName() + suffix,
+                    System.nanoTime() - start);
+        }
+    }
+}
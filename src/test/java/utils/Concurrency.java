@@ -0,0 +1,135 @@
+package utils;
+
+import config.Config;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for blocking browser work. Threads driving a session spend nearly all their time
+ * waiting on WebDriver HTTP calls and wait polling, so on a Java 21+ runtime every task gets a
+ * virtual thread; at most maxConcurrency of them run at once, which keeps test.threads and
+ * load.users meaningful. The project compiles for Java 11, so virtual threads are looked up
+ * reflectively; on older runtimes, or with -Dthreads.virtual=false, tasks run on a fixed pool
+ * of named platform threads instead.
+ */
+public final class Concurrency {
+    // Thread.ofVirtual().name(prefix, 1).factory() and Executors.newThreadPerTaskExecutor(factory), when present
+    private static final Method OF_VIRTUAL = method(Thread.class, "ofVirtual");
+    private static final Method BUILDER_NAME = method(type("java.lang.Thread$Builder"), "name", String.class, long.class);
+    private static final Method BUILDER_FACTORY = method(type("java.lang.Thread$Builder"), "factory");
+    private static final Method PER_TASK_EXECUTOR = method(Executors.class, "newThreadPerTaskExecutor", ThreadFactory.class);
+
+    private Concurrency() {
+    }
+
+    public static boolean virtualThreadsAvailable() {
+        return OF_VIRTUAL != null && BUILDER_NAME != null && BUILDER_FACTORY != null && PER_TASK_EXECUTOR != null;
+    }
+
+    public static boolean useVirtualThreads() {
+        return Config.VIRTUAL_THREADS && virtualThreadsAvailable();
+    }
+
+    // "virtual" or "platform", for reports
+    public static String threadMode() {
+        return useVirtualThreads() ? "virtual" : "platform";
+    }
+
+    /**
+     * Executor whose threads are named "name-1", "name-2", ..., running at most maxConcurrency
+     * tasks at a time: a virtual thread per task when available, a fixed platform pool otherwise.
+     */
+    public static ExecutorService newExecutor(String name, int maxConcurrency) {
+        int limit = Math.max(1, maxConcurrency);
+        if (useVirtualThreads()) {
+            try {
+                Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), name + "-", 1L);
+                ThreadFactory factory = (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+                return new BoundedExecutor((ExecutorService) PER_TASK_EXECUTOR.invoke(null, factory), limit);
+            } catch (ReflectiveOperationException e) {
+                System.out.println("Virtual threads unavailable, using platform threads: " + e);
+            }
+        }
+        AtomicInteger number = new AtomicInteger();
+        return Executors.newFixedThreadPool(limit, task -> new Thread(task, name + "-" + number.incrementAndGet()));
+    }
+
+    private static Class<?> type(String name) {
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static Method method(Class<?> type, String name, Class<?>... parameters) {
+        if (type == null) {
+            return null;
+        }
+        try {
+            return type.getMethod(name, parameters);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    // Thread-per-task executor that lets at most `permits` tasks run at once; the others park cheaply on the semaphore
+    private static class BoundedExecutor extends AbstractExecutorService {
+        private final ExecutorService delegate;
+        private final Semaphore permits;
+
+        BoundedExecutor(ExecutorService delegate, int permits) {
+            this.delegate = delegate;
+            this.permits = new Semaphore(permits, true);
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            delegate.execute(() -> {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+}
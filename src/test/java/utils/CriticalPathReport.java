@@ -0,0 +1,124 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+/**
+ * For test classes whose methods declare dependsOnMethods, compares the serial total of their
+ * test durations with the critical path: the longest chain through the dependency graph, which
+ * is the least wall-clock time the class needs with enough parallel threads. Durations of the
+ * complete-scenario tests are logged alongside for comparison with the decomposed flow.
+ *
+ * The report needs the suite's results, which BaseTest's @AfterSuite reports run too early to
+ * see, so it is logged from this listener instead.
+ */
+public class CriticalPathReport implements ISuiteListener {
+    private static final Logger log = LoggerFactory.getLogger(CriticalPathReport.class);
+    private static final String COMPLETE_SCENARIO_PREFIX = "testCompleteScenario";
+
+    @Override
+    public void onFinish(ISuite suite) {
+        Map<String, List<ITestResult>> byClass = new LinkedHashMap<>();
+        for (ITestResult result : allResults(suite)) {
+            byClass.computeIfAbsent(result.getTestClass().getName(), name -> new ArrayList<>()).add(result);
+        }
+
+        StringBuilder report = new StringBuilder();
+        byClass.forEach((className, results) -> {
+            if (results.stream().anyMatch(result -> result.getMethod().getMethodsDependedUpon().length > 0)) {
+                report.append(criticalPath(className, results));
+            }
+            for (ITestResult result : results) {
+                if (result.getMethod().getMethodName().startsWith(COMPLETE_SCENARIO_PREFIX)
+                        && result.getStatus() == ITestResult.SUCCESS) {
+                    report.append(String.format("  %s.%s: %d ms%n", className, result.getMethod().getMethodName(),
+                            duration(result)));
+                }
+            }
+        });
+        if (report.length() > 0) {
+            log.info("Critical path report:{}{}", System.lineSeparator(), report.toString().stripTrailing());
+        }
+    }
+
+    private static List<ITestResult> allResults(ISuite suite) {
+        List<ITestResult> results = new ArrayList<>();
+        suite.getResults().values().forEach(suiteResult -> {
+            ITestContext context = suiteResult.getTestContext();
+            results.addAll(context.getPassedTests().getAllResults());
+            results.addAll(context.getFailedTests().getAllResults());
+            results.addAll(context.getSkippedTests().getAllResults());
+        });
+        return results;
+    }
+
+    private static String criticalPath(String className, List<ITestResult> results) {
+        // Data-provider rows and retries of one method add up to that method's duration
+        Map<String, Long> durations = new LinkedHashMap<>();
+        Map<String, ITestNGMethod> methods = new HashMap<>();
+        for (ITestResult result : results) {
+            String name = result.getMethod().getQualifiedName();
+            durations.merge(name, duration(result), Long::sum);
+            methods.put(name, result.getMethod());
+        }
+
+        Map<String, Long> finish = new HashMap<>();
+        Map<String, String> previous = new HashMap<>();
+        String last = null;
+        long serial = 0;
+        for (String name : durations.keySet()) {
+            serial += durations.get(name);
+            long end = finishTime(name, durations, methods, finish, previous);
+            if (last == null || end > finish.get(last)) {
+                last = name;
+            }
+        }
+
+        List<String> path = new ArrayList<>();
+        for (String name = last; name != null; name = previous.get(name)) {
+            path.add(0, name.substring(name.lastIndexOf('.') + 1));
+        }
+        long critical = finish.get(last);
+        return String.format("  %s: critical path %d ms vs %d ms serial (%.1fx), via %s%n", className, critical, serial,
+                critical == 0 ? 1.0 : (double) serial / critical, String.join(" -> ", path));
+    }
+
+    // Earliest finish of a method when every prerequisite starts as soon as its own prerequisites finish
+    private static long finishTime(String name, Map<String, Long> durations, Map<String, ITestNGMethod> methods,
+                                   Map<String, Long> finish, Map<String, String> previous) {
+        Long known = finish.get(name);
+        if (known != null) {
+            return known;
+        }
+        long start = 0;
+        ITestNGMethod method = methods.get(name);
+        for (String dependsOn : method.getMethodsDependedUpon()) {
+            String dependency = dependsOn.contains(".") ? dependsOn : method.getRealClass().getName() + "." + dependsOn;
+            // Prerequisites in other classes or without a result do not lengthen this class's path
+            if (durations.containsKey(dependency)) {
+                long end = finishTime(dependency, durations, methods, finish, previous);
+                if (end > start) {
+                    start = end;
+                    previous.put(name, dependency);
+                }
+            }
+        }
+        long end = start + durations.get(name);
+        finish.put(name, end);
+        return end;
+    }
+
+    private static long duration(ITestResult result) {
+        return Math.max(0, result.getEndMillis() - result.getStartMillis());
+    }
+}
@@ -0,0 +1,321 @@
+package utils;
+
+import config.Config;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded pool of warm browser sessions.
+ *
+ * Each thread checks out at most one driver at a time (kept in a ThreadLocal), so page
+ * objects and tests on that thread always see the same session. Returned drivers are
+ * reset (cookies, storage, frame) and kept alive for the next borrower; sessions that
+ * fail the health check are quit and replaced.
+ */
+public class DriverPool {
+    private static final Logger log = LoggerFactory.getLogger(DriverPool.class);
+    private static final DriverPool SHARED = new DriverPool(Config.POOL_SIZE);
+
+    private final int maxSize;
+    private final Semaphore permits;
+    private final BlockingDeque<WebDriver> idle = new LinkedBlockingDeque<>();
+    private final ThreadLocal<WebDriver> checkedOut = new ThreadLocal<>();
+    private final Metrics metrics = new Metrics();
+
+    public DriverPool(int maxSize) {
+        this.maxSize = Math.max(1, maxSize);
+        this.permits = new Semaphore(this.maxSize, true);
+    }
+
+    public static DriverPool shared() {
+        return SHARED;
+    }
+
+    // Borrow a driver for the current thread, reusing an idle session when one is healthy
+    public WebDriver borrow() {
+        WebDriver current = checkedOut.get();
+        if (current != null) {
+            return current;
+        }
+
+        long waitStart = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(Config.POOL_CHECKOUT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out after " + Config.POOL_CHECKOUT_TIMEOUT_SECONDS
+                        + "s waiting for a pooled driver (pool size " + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a pooled driver", e);
+        }
+        metrics.recordWait(System.nanoTime() - waitStart);
+
+        try {
+            WebDriver driver;
+            while ((driver = idle.pollFirst()) != null) {
+                if (isHealthy(driver)) {
+                    metrics.hits.incrementAndGet();
+                    log.debug("Reusing pooled driver");
+                    break;
+                }
+                evict(driver);
+            }
+            if (driver == null) {
+                metrics.misses.incrementAndGet();
+                log.info("No idle driver available, starting a new one");
+                driver = WebDriverFactory.createDriver();
+            }
+            checkedOut.set(driver);
+            return driver;
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Starts up to count browsers concurrently and parks them as idle sessions, so the first
+     * borrowers do not pay for the launch. Each launch holds a pool permit like a checkout, so
+     * a warm-up overlapping early borrowers never runs more than pool.size browsers; launches
+     * that find no free permit are skipped. Returns the number of browsers started.
+     */
+    public int warmUp(int count) {
+        int wanted = Math.min(count, maxSize - idle.size());
+        if (wanted <= 0) {
+            return 0;
+        }
+        AtomicInteger started = new AtomicInteger();
+        try (TaskScope scope = new TaskScope("pool-warm-up", wanted)) {
+            for (int i = 0; i < wanted; i++) {
+                scope.fork(() -> {
+                    if (!permits.tryAcquire()) {
+                        return;
+                    }
+                    try {
+                        idle.offerLast(WebDriverFactory.createDriver());
+                        started.incrementAndGet();
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+            scope.join(Duration.ofSeconds(Config.POOL_CHECKOUT_TIMEOUT_SECONDS));
+            scope.throwIfFailed();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn("Driver pool warm-up stopped early", e.getCause());
+        }
+        log.info("Warmed up {} pooled drivers on {} threads", started.get(), Concurrency.threadMode());
+        return started.get();
+    }
+
+    // Driver currently checked out by this thread, or null
+    public WebDriver current() {
+        return checkedOut.get();
+    }
+
+    // Return the current thread's driver to the pool after clearing its state
+    public void release() {
+        WebDriver driver = checkedOut.get();
+        if (driver == null) {
+            return;
+        }
+        checkedOut.remove();
+
+        try {
+            if (resetState(driver)) {
+                idle.offerFirst(driver);
+            } else {
+                evict(driver);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    // Drop the current thread's driver instead of returning it (e.g. after a browser crash)
+    public void invalidate() {
+        WebDriver driver = checkedOut.get();
+        if (driver == null) {
+            return;
+        }
+        checkedOut.remove();
+        try {
+            evict(driver);
+        } finally {
+            permits.release();
+        }
+    }
+
+    public void shutdown() {
+        WebDriver driver;
+        while ((driver = idle.pollFirst()) != null) {
+            quitQuietly(driver);
+        }
+        System.out.println("Driver pool shut down. " + metrics);
+    }
+
+    public Metrics metrics() {
+        return metrics;
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    public int idleCount() {
+        return idle.size();
+    }
+
+    private boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            log.warn("Pooled driver failed health check: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean resetState(WebDriver driver) {
+        try {
+            driver.switchTo().defaultContent();
+
+            if (driver instanceof HasCdp) {
+                HasCdp cdp = (HasCdp) driver;
+                for (String origin : frameOrigins(cdp)) {
+                    Map<String, Object> params = new HashMap<>();
+                    params.put("origin", origin);
+                    params.put("storageTypes", "cookies,local_storage,session_storage,indexeddb,service_workers");
+                    cdp.executeCdpCommand("Storage.clearDataForOrigin", params);
+                }
+                cdp.executeCdpCommand("Network.clearBrowserCookies", new HashMap<>());
+            } else {
+                ((JavascriptExecutor) driver).executeScript(
+                        "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+                driver.manage().deleteAllCookies();
+            }
+
+            driver.get("about:blank");
+            metrics.resets.incrementAndGet();
+            return true;
+        } catch (Exception e) {
+            log.warn("Could not reset pooled driver, evicting it: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    // Origins of the top document and every frame, so the shop iframe's storage is cleared too
+    @SuppressWarnings("unchecked")
+    private Set<String> frameOrigins(HasCdp cdp) {
+        Set<String> origins = new LinkedHashSet<>();
+        Map<String, Object> result = cdp.executeCdpCommand("Page.getFrameTree", new HashMap<>());
+        List<Map<String, Object>> pending = new ArrayList<>();
+        pending.add((Map<String, Object>) result.get("frameTree"));
+        while (!pending.isEmpty()) {
+            Map<String, Object> node = pending.remove(pending.size() - 1);
+            if (node == null) {
+                continue;
+            }
+            Map<String, Object> frame = (Map<String, Object>) node.get("frame");
+            Object origin = frame == null ? null : frame.get("securityOrigin");
+            if (origin != null && origin.toString().startsWith("http")) {
+                origins.add(origin.toString());
+            }
+            Object children = node.get("childFrames");
+            if (children instanceof List) {
+                pending.addAll((List<Map<String, Object>>) children);
+            }
+        }
+        return origins;
+    }
+
+    private void evict(WebDriver driver) {
+        metrics.evictions.incrementAndGet();
+        quitQuietly(driver);
+    }
+
+    private void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            log.debug("Ignoring error while quitting driver: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Counters used to size the pool per CI agent: a low hit ratio means the pool is too
+     * small for the thread count, long checkout waits mean threads are starved.
+     */
+    public static class Metrics {
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+        private final AtomicLong evictions = new AtomicLong();
+        private final AtomicLong resets = new AtomicLong();
+        private final AtomicLong checkouts = new AtomicLong();
+        private final AtomicLong totalWaitNanos = new AtomicLong();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+
+        private void recordWait(long nanos) {
+            checkouts.incrementAndGet();
+            totalWaitNanos.addAndGet(nanos);
+            maxWaitNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        public long getHits() {
+            return hits.get();
+        }
+
+        public long getMisses() {
+            return misses.get();
+        }
+
+        public long getEvictions() {
+            return evictions.get();
+        }
+
+        public long getResets() {
+            return resets.get();
+        }
+
+        public double getHitRatio() {
+            long total = hits.get() + misses.get();
+            return total == 0 ? 0.0 : (double) hits.get() / total;
+        }
+
+        public double getAverageWaitMillis() {
+            long count = checkouts.get();
+            return count == 0 ? 0.0 : totalWaitNanos.get() / 1_000_000.0 / count;
+        }
+
+        public double getMaxWaitMillis() {
+            return maxWaitNanos.get() / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Pool metrics - hits: %d, misses: %d, hit ratio: %.2f, evictions: %d, resets: %d, "
+                            + "checkout wait avg: %.1f ms, max: %.1f ms",
+                    getHits(), getMisses(), getHitRatio(), getEvictions(), getResets(),
+                    getAverageWaitMillis(), getMaxWaitMillis());
+        }
+    }
+}
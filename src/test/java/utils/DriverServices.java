@@ -0,0 +1,131 @@
+package utils;
+
+import config.Config;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriverService;
+
+/**
+ * Driver binaries and driver services shared by every session in the JVM.
+ *
+ * Each driver binary (chromedriver, geckodriver, msedgedriver) is resolved once: from
+ * -Ddriver.path if pinned, otherwise through WebDriverManager (with -Ddriver.version and
+ * -Ddriver.cacheDir it resolves from the local cache without browser detection or network
+ * lookups). One chromedriver process then serves all Chrome sessions, so creating a driver
+ * only costs the browser launch. geckodriver handles a single session per process, so
+ * Firefox still gets a service per session.
+ */
+public class DriverServices {
+    private static final Map<String, File> BINARIES = new HashMap<>();
+    private static SharedChromeDriverService chromeService;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverServices::shutdown, "driver-services-shutdown"));
+    }
+
+    public static File chromedriverBinary() {
+        return binary("chromedriver", WebDriverManager::chromedriver);
+    }
+
+    public static File geckodriverBinary() {
+        return binary("geckodriver", WebDriverManager::firefoxdriver);
+    }
+
+    public static File edgedriverBinary() {
+        return binary("msedgedriver", WebDriverManager::edgedriver);
+    }
+
+    private static synchronized File binary(String name, Supplier<WebDriverManager> manager) {
+        File binary = BINARIES.get(name);
+        if (binary == null) {
+            binary = StepTimings.time(StepTimings.Category.STEP, "DriverServices.resolve " + name,
+                    () -> resolve(manager.get()));
+            BINARIES.put(name, binary);
+            System.out.println("Resolved " + name + ": " + binary);
+        }
+        return binary;
+    }
+
+    /**
+     * The long-lived chromedriver service, started on first use. Sessions created on it leave
+     * it running when they quit; it is stopped by {@link #shutdown()} or at JVM exit.
+     */
+    public static synchronized ChromeDriverService chrome() {
+        if (chromeService == null) {
+            ChromeDriverService.Builder builder = new SharedChromeDriverService.Builder()
+                    .usingDriverExecutable(chromedriverBinary())
+                    .usingAnyFreePort();
+            chromeService = (SharedChromeDriverService) builder.build();
+            StepTimings.time(StepTimings.Category.STEP, "DriverServices.start chromedriver", () -> {
+                try {
+                    chromeService.start();
+                } catch (IOException e) {
+                    throw new WebDriverException("Could not start chromedriver", e);
+                }
+            });
+        }
+        return chromeService;
+    }
+
+    public static synchronized void shutdown() {
+        if (chromeService != null) {
+            chromeService.shutdown();
+            chromeService = null;
+        }
+    }
+
+    private static File resolve(WebDriverManager manager) {
+        if (!Config.DRIVER_PATH.isEmpty()) {
+            File pinned = new File(Config.DRIVER_PATH);
+            if (!pinned.canExecute()) {
+                throw new IllegalStateException("Pinned driver binary is not executable: " + pinned);
+            }
+            return pinned;
+        }
+
+        if (!Config.DRIVER_VERSION.isEmpty()) {
+            manager.driverVersion(Config.DRIVER_VERSION).avoidBrowserDetection();
+        }
+        if (!Config.DRIVER_CACHE_DIR.isEmpty()) {
+            manager.cachePath(Config.DRIVER_CACHE_DIR).resolutionCachePath(Config.DRIVER_CACHE_DIR);
+        }
+        manager.setup();
+        return new File(manager.getDownloadedDriverPath());
+    }
+
+    // Selenium stops a session's driver service when the session quits; this one outlives its sessions
+    private static class SharedChromeDriverService extends ChromeDriverService {
+        SharedChromeDriverService(File executable, int port, Duration timeout, List<String> args,
+                                  Map<String, String> environment) throws IOException {
+            super(executable, port, timeout, args, environment);
+        }
+
+        @Override
+        public void stop() {
+            // Kept alive for the next session; see shutdown()
+        }
+
+        void shutdown() {
+            super.stop();
+        }
+
+        static class Builder extends ChromeDriverService.Builder {
+            @Override
+            protected ChromeDriverService createDriverService(File exe, int port, Duration timeout, List<String> args,
+                                                              Map<String, String> environment) {
+                try {
+                    return new SharedChromeDriverService(exe, port, timeout, args, environment);
+                } catch (IOException e) {
+                    throw new WebDriverException(e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package utils;
+
+import config.Config;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+
+/**
+ * Collects evidence when a test fails: a screenshot, the DOM, the browser console and the
+ * test's step timing trace, zipped into target/failure-artifacts/<test>-<time>.zip.
+ *
+ * Only the browser round-trips happen on the test thread, right after the test method and
+ * before @AfterMethod returns the driver to the pool. Serialising, compressing and writing run
+ * on a background thread, so teardown and the next checkout are not held up. Passing tests
+ * capture nothing. Pending writes are flushed when the suite finishes.
+ */
+public class FailureArtifacts implements IInvokedMethodListener, ISuiteListener {
+    private static final Logger log = LoggerFactory.getLogger(FailureArtifacts.class);
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS")
+            .withZone(ZoneOffset.UTC);
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "failure-artifact-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final AtomicInteger CAPTURED = new AtomicInteger();
+    private static final AtomicLong CAPTURE_NANOS = new AtomicLong();
+    private static final AtomicLong WRITE_NANOS = new AtomicLong();
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        if (!method.isTestMethod() || result.getStatus() != ITestResult.FAILURE) {
+            return;
+        }
+        WebDriver driver = DriverPool.shared().current();
+        long start = System.nanoTime();
+        Capture capture = new Capture(result, driver);
+        CAPTURE_NANOS.addAndGet(System.nanoTime() - start);
+        WRITER.submit(() -> write(capture));
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        // The writer runs tasks in order, so once this marker has run every earlier capture is on disk
+        try {
+            WRITER.submit(() -> { }).get(60, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Failure artifacts still being written after 60 s");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn("Failure artifact writer failed", e.getCause());
+        }
+        if (CAPTURED.get() > 0) {
+            System.out.printf("Failure artifacts: %d captured, %d ms on test threads, %d ms writing in the background%n",
+                    CAPTURED.get(), CAPTURE_NANOS.get() / 1_000_000, WRITE_NANOS.get() / 1_000_000);
+        }
+    }
+
+    private static void write(Capture capture) {
+        long start = System.nanoTime();
+        File directory = new File("target", "failure-artifacts");
+        File file = new File(directory, capture.testName + "-" + FILE_TIME.format(capture.failedAt) + ".zip");
+        try {
+            Files.createDirectories(directory.toPath());
+            try (OutputStream out = Files.newOutputStream(file.toPath()); ZipOutputStream zip = new ZipOutputStream(out)) {
+                addEntry(zip, "failure.txt", capture.failure());
+                addEntry(zip, "steps.json", new Json().toJson(capture.trace).getBytes(StandardCharsets.UTF_8));
+                if (capture.screenshot != null) {
+                    addEntry(zip, "screenshot.png", capture.screenshot);
+                }
+                if (capture.dom != null) {
+                    addEntry(zip, "dom.html", capture.dom.getBytes(StandardCharsets.UTF_8));
+                }
+                addEntry(zip, "console.log", capture.console());
+            }
+            CAPTURED.incrementAndGet();
+            log.info("Failure artifacts for {} written to {}", capture.testName, file.getPath());
+        } catch (IOException e) {
+            log.warn("Could not write failure artifacts for {}: {}", capture.testName, e.getMessage());
+        } finally {
+            WRITE_NANOS.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    private static void addEntry(ZipOutputStream zip, String name, byte[] content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content);
+        zip.closeEntry();
+    }
+
+    // Raw data read from the browser on the test thread; everything else happens on the writer
+    private static class Capture {
+        private final String testName;
+        private final Instant failedAt = Instant.now();
+        private final Throwable error;
+        private final Object[] parameters;
+        private final String url;
+        private final byte[] screenshot;
+        private final String dom;
+        private final List<LogEntry> console = new ArrayList<>();
+        private final List<Map<String, Object>> trace;
+        private final List<String> captureErrors = new ArrayList<>();
+
+        Capture(ITestResult result, WebDriver driver) {
+            testName = result.getMethod().getMethodName();
+            error = result.getThrowable();
+            parameters = result.getParameters();
+            trace = StepTimings.trace();
+
+            String currentUrl = null;
+            byte[] png = null;
+            String source = null;
+            if (driver != null) {
+                try {
+                    currentUrl = driver.getCurrentUrl();
+                } catch (Exception e) {
+                    captureErrors.add("url: " + e.getMessage());
+                }
+                try {
+                    png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+                } catch (Exception e) {
+                    captureErrors.add("screenshot: " + e.getMessage());
+                }
+                try {
+                    source = driver.getPageSource();
+                } catch (Exception e) {
+                    captureErrors.add("dom: " + e.getMessage());
+                }
+                try {
+                    console.addAll(driver.manage().logs().get(LogType.BROWSER).getAll());
+                } catch (Exception e) {
+                    captureErrors.add("console: " + e.getMessage());
+                }
+            } else {
+                captureErrors.add("no driver checked out on " + Thread.currentThread().getName());
+            }
+            url = currentUrl;
+            screenshot = png;
+            dom = source;
+        }
+
+        byte[] failure() {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("test", testName);
+            summary.put("failedAt", failedAt.toString());
+            summary.put("browser", Config.BROWSER);
+            summary.put("url", url);
+            summary.put("captureErrors", captureErrors);
+            StringBuilder text = new StringBuilder(new Json().toJson(summary)).append("\n\n");
+            if (parameters != null && parameters.length > 0) {
+                text.append("Parameters: ").append(Arrays.toString(parameters)).append("\n\n");
+            }
+            if (error != null) {
+                StringWriter stackTrace = new StringWriter();
+                error.printStackTrace(new PrintWriter(stackTrace));
+                text.append(stackTrace);
+            }
+            return text.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        byte[] console() {
+            StringBuilder text = new StringBuilder();
+            for (LogEntry entry : console) {
+                text.append(Instant.ofEpochMilli(entry.getTimestamp())).append(' ')
+                        .append(entry.getLevel()).append(' ').append(entry.getMessage()).append('\n');
+            }
+            return text.toString().getBytes(StandardCharsets.UTF_8);
+        }
+    }
+}
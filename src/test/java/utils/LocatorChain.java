@@ -0,0 +1,150 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+
+/**
+ * A prioritized list of selectors for one element of a page, usable anywhere a By is.
+ *
+ * Lookups try the selector that matched last time first, then the others in declared order,
+ * and remember whichever matches. Every attempt is timed into {@link LocatorRegistry} so slow,
+ * ambiguous or never-matching selectors show up in its audit. Chains are created with
+ * {@link LocatorRegistry#single} or {@link LocatorRegistry#many}.
+ */
+public class LocatorChain extends By {
+    private final String page;
+    private final String name;
+    private final boolean expectsSingle;
+    private final List<By> alternatives;
+    private final List<AlternativeStats> stats = new ArrayList<>();
+    private final AtomicReference<By> winner = new AtomicReference<>();
+
+    LocatorChain(String page, String name, boolean expectsSingle, By... alternatives) {
+        if (alternatives.length == 0) {
+            throw new IllegalArgumentException("Locator " + page + "." + name + " needs at least one selector");
+        }
+        this.page = page;
+        this.name = name;
+        this.expectsSingle = expectsSingle;
+        this.alternatives = Collections.unmodifiableList(Arrays.asList(alternatives));
+        for (By alternative : alternatives) {
+            stats.add(new AlternativeStats(alternative));
+        }
+    }
+
+    @Override
+    public List<WebElement> findElements(SearchContext context) {
+        if (LocatorRegistry.auditAll()) {
+            // Audit mode: time every alternative, even after one has matched
+            List<WebElement> first = null;
+            for (int i = 0; i < alternatives.size(); i++) {
+                List<WebElement> found = attempt(context, i);
+                if (first == null && !found.isEmpty()) {
+                    first = found;
+                    winner.set(alternatives.get(i));
+                }
+            }
+            return first == null ? Collections.emptyList() : first;
+        }
+
+        By remembered = winner.get();
+        if (remembered != null) {
+            List<WebElement> found = attempt(context, alternatives.indexOf(remembered));
+            if (!found.isEmpty()) {
+                return found;
+            }
+        }
+        for (int i = 0; i < alternatives.size(); i++) {
+            if (alternatives.get(i).equals(remembered)) {
+                continue;
+            }
+            List<WebElement> found = attempt(context, i);
+            if (!found.isEmpty()) {
+                winner.set(alternatives.get(i));
+                return found;
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Records an attempt made outside {@link #findElements}, e.g. by a script resolving several
+     * locators at once; a match makes the alternative the remembered winner. Scripts stop at the
+     * first element, so ambiguity is not detected for these attempts.
+     */
+    public void recordAttempt(int index, long nanos, boolean matched) {
+        stats.get(index).record(nanos, matched ? 1 : 0, expectsSingle);
+        if (matched) {
+            winner.set(alternatives.get(index));
+        }
+    }
+
+    private List<WebElement> attempt(SearchContext context, int index) {
+        long start = System.nanoTime();
+        List<WebElement> found = context.findElements(alternatives.get(index));
+        stats.get(index).record(System.nanoTime() - start, found.size(), expectsSingle);
+        return found;
+    }
+
+    public String page() {
+        return page;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public By winner() {
+        return winner.get();
+    }
+
+    public List<By> alternatives() {
+        return alternatives;
+    }
+
+    List<AlternativeStats> stats() {
+        return stats;
+    }
+
+    @Override
+    public String toString() {
+        return "By.chain " + page + "." + name + ": " + alternatives;
+    }
+
+    static class AlternativeStats {
+        final By selector;
+        final AtomicLong lookups = new AtomicLong();
+        final AtomicLong hits = new AtomicLong();
+        final AtomicLong ambiguous = new AtomicLong();
+        final AtomicLong totalNanos = new AtomicLong();
+        final AtomicLong maxNanos = new AtomicLong();
+
+        AlternativeStats(By selector) {
+            this.selector = selector;
+        }
+
+        void record(long nanos, int matches, boolean expectsSingle) {
+            lookups.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            if (matches > 0) {
+                hits.incrementAndGet();
+            }
+            if (expectsSingle && matches > 1) {
+                ambiguous.incrementAndGet();
+            }
+        }
+
+        double meanMillis() {
+            long count = lookups.get();
+            return count == 0 ? 0 : totalNanos.get() / 1_000_000.0 / count;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package utils;
+
+import config.Config;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.openqa.selenium.By;
+import org.openqa.selenium.json.Json;
+
+/**
+ * Central registry of page locators and their measured cost.
+ *
+ * Page classes declare their elements as {@link LocatorChain}s through {@link #single} (one
+ * element expected) or {@link #many} (a list of rows); the chain is created once per page and
+ * name, so the selector that won is remembered across page instances. At the end of the suite
+ * {@link #auditReport()} lists every selector with its lookup count, mean and max resolution
+ * time and hit rate, and flags the ones that are slow (above locator.slowMillis), ambiguous
+ * (several matches where one is expected), never match, or lose to a later fallback.
+ * -Dlocator.audit=true times every alternative on each lookup, not just the first to match.
+ */
+public class LocatorRegistry {
+    // Keyed by "<page>.<name>", so every instance of a page class shares one chain and its remembered winner
+    private static final Map<String, LocatorChain> CHAINS = new LinkedHashMap<>();
+
+    public static LocatorChain single(String page, String name, By... alternatives) {
+        return register(page, name, true, alternatives);
+    }
+
+    public static LocatorChain many(String page, String name, By... alternatives) {
+        return register(page, name, false, alternatives);
+    }
+
+    private static synchronized LocatorChain register(String page, String name, boolean expectsSingle, By... alternatives) {
+        return CHAINS.computeIfAbsent(page + "." + name, key -> new LocatorChain(page, name, expectsSingle, alternatives));
+    }
+
+    private static synchronized List<LocatorChain> chains() {
+        return new ArrayList<>(CHAINS.values());
+    }
+
+    public static boolean auditAll() {
+        return Config.LOCATOR_AUDIT;
+    }
+
+    public static String auditReport() {
+        StringBuilder report = new StringBuilder("Locator audit:\n");
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (LocatorChain chain : chains()) {
+            By winner = chain.winner();
+            for (LocatorChain.AlternativeStats stats : chain.stats()) {
+                long lookups = stats.lookups.get();
+                if (lookups == 0) {
+                    continue;
+                }
+                List<String> flags = flags(chain, stats, winner);
+                report.append(String.format("  %-40s %-60s lookups: %4d, hits: %4d, mean: %6.1f ms, max: %6.1f ms %s%n",
+                        chain.page() + "." + chain.name(), stats.selector, lookups, stats.hits.get(),
+                        stats.meanMillis(), stats.maxNanos.get() / 1_000_000.0, flags.isEmpty() ? "" : flags));
+
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("locator", chain.page() + "." + chain.name());
+                row.put("selector", stats.selector.toString());
+                row.put("lookups", lookups);
+                row.put("hits", stats.hits.get());
+                row.put("ambiguous", stats.ambiguous.get());
+                row.put("meanMs", stats.meanMillis());
+                row.put("maxMs", stats.maxNanos.get() / 1_000_000.0);
+                row.put("winner", stats.selector.equals(winner));
+                row.put("flags", flags);
+                rows.add(row);
+            }
+        }
+
+        File file = new File(Config.PERF_HISTORY_DIR, "locator-audit.json");
+        try {
+            Files.createDirectories(file.getParentFile().toPath());
+            Files.write(file.toPath(), new Json().toJson(rows).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            System.out.println("Could not write locator audit: " + e.getMessage());
+        }
+        return rows.isEmpty() ? "Locator audit: no registered locators were used" : report.toString().trim();
+    }
+
+    private static List<String> flags(LocatorChain chain, LocatorChain.AlternativeStats stats, By winner) {
+        List<String> flags = new ArrayList<>();
+        if (stats.meanMillis() > Config.LOCATOR_SLOW_MILLIS) {
+            flags.add("SLOW");
+        }
+        if (stats.ambiguous.get() > 0) {
+            flags.add("AMBIGUOUS");
+        }
+        if (stats.hits.get() == 0) {
+            flags.add("NEVER MATCHED");
+        }
+        int position = chain.alternatives().indexOf(stats.selector);
+        if (stats.selector.equals(winner) && position > 0) {
+            flags.add("FALLBACK #" + position + " WINS");
+        }
+        return flags;
+    }
+}
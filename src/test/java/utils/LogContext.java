@@ -0,0 +1,46 @@
+package utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.MDC;
+
+/**
+ * Correlation fields attached to every log line of the current thread (logback MDC): the
+ * session a line belongs to (one test invocation or load-mode scenario) and the page-object
+ * step that produced it. logback-test.xml prints both and writes them as JSON fields.
+ */
+public final class LogContext {
+    public static final String SESSION = "session";
+    public static final String STEP = "step";
+
+    private static final AtomicInteger SESSIONS = new AtomicInteger();
+
+    private LogContext() {
+    }
+
+    // Starts a session on this thread, e.g. "testCompleteScenario-7"; returns its id
+    public static String startSession(String name) {
+        String id = name + "-" + SESSIONS.incrementAndGet();
+        MDC.put(SESSION, id);
+        return id;
+    }
+
+    public static void endSession() {
+        MDC.remove(SESSION);
+        MDC.remove(STEP);
+    }
+
+    // Sets the current step and returns the enclosing one, to be passed back to restoreStep
+    public static String enterStep(String step) {
+        String enclosing = MDC.get(STEP);
+        MDC.put(STEP, step);
+        return enclosing;
+    }
+
+    public static void restoreStep(String enclosing) {
+        if (enclosing == null) {
+            MDC.remove(STEP);
+        } else {
+            MDC.put(STEP, enclosing);
+        }
+    }
+}
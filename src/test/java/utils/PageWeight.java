@@ -0,0 +1,194 @@
+package utils;
+
+import config.Config;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonInput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Load time and bytes transferred per page type, sampled once the page is loaded. Pages are
+ * keyed by the document itself (the shop's body id, e.g. "search" or "product", else the path),
+ * not by the page object that happened to wait for them.
+ *
+ * On DevTools-capable browsers the bytes and requests come from CDP Network.loadingFinished
+ * (encodedDataLength), counted per driver since its previous sample. Resource Timing reports
+ * a transferSize of 0 for cross-origin responses without Timing-Allow-Origin, which are the
+ * tracker and CDN requests the blocker removes, so it is only the fallback (other browsers, or
+ * -DpageWeight.network=false). Results are saved per blocking profile under the perf history
+ * directory, so a run with -Dblock.profile=lean reports its deltas against the last run
+ * with -Dblock.profile=none.
+ */
+public final class PageWeight {
+    private static final Logger log = LoggerFactory.getLogger(PageWeight.class);
+    private static final String MEASURE_SCRIPT =
+            "var nav = performance.getEntriesByType('navigation')[0];"
+                    + "var page = (document.body && document.body.id) || document.location.pathname;"
+                    + "var resources = performance.getEntriesByType('resource');"
+                    + "var bytes = nav ? nav.transferSize : 0;"
+                    + "for (var i = 0; i < resources.length; i++) { bytes += resources[i].transferSize || 0; }"
+                    + "return {"
+                    + "  page: page,"
+                    + "  loadMs: nav ? Math.round((nav.loadEventEnd || performance.now()) - nav.startTime) : 0,"
+                    + "  bytes: bytes,"
+                    + "  requests: resources.length + 1"
+                    + "};";
+
+    private static final ConcurrentMap<String, Totals> PAGES = new ConcurrentHashMap<>();
+    private static final Map<WebDriver, Traffic> TRAFFIC = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private PageWeight() {
+    }
+
+    // Counts the driver's network traffic over CDP from now on; called once per new driver
+    public static void track(WebDriver driver) {
+        if (!Config.PAGE_WEIGHT_NETWORK || !(driver instanceof HasDevTools)) {
+            return;
+        }
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            Traffic traffic = new Traffic();
+            devTools.send(new Command<>("Network.enable", Collections.emptyMap()));
+            devTools.addListener(new Event<>("Network.loadingFinished", PageWeight::encodedDataLength), traffic::add);
+            TRAFFIC.put(driver, traffic);
+        } catch (Exception e) {
+            log.warn("Could not track network traffic, page weight falls back to Resource Timing: {}",
+                    e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static void sample(WebDriver driver) {
+        try {
+            Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(MEASURE_SCRIPT);
+            long bytes = ((Number) result.get("bytes")).longValue();
+            long requests = ((Number) result.get("requests")).longValue();
+            Traffic traffic = TRAFFIC.get(driver);
+            if (traffic != null) {
+                bytes = traffic.bytes.getAndSet(0);
+                requests = traffic.requests.getAndSet(0);
+            }
+            PAGES.computeIfAbsent(String.valueOf(result.get("page")), key -> new Totals()).add(
+                    ((Number) result.get("loadMs")).longValue(), bytes, requests);
+        } catch (Exception e) {
+            log.debug("Could not measure page weight: {}", e.getMessage());
+        }
+    }
+
+    private static long encodedDataLength(JsonInput input) {
+        long length = 0;
+        input.beginObject();
+        while (input.hasNext()) {
+            if ("encodedDataLength".equals(input.nextName())) {
+                length = input.nextNumber().longValue();
+            } else {
+                input.skipValue();
+            }
+        }
+        input.endObject();
+        return length;
+    }
+
+    // Saves this run's averages for the active profile and reports deltas against the "none" baseline
+    @SuppressWarnings("unchecked")
+    public static String report() {
+        String profile = ResourceBlocker.shared().profile();
+        Map<String, Object> current = new TreeMap<>();
+        for (Map.Entry<String, Totals> entry : PAGES.entrySet()) {
+            current.put(entry.getKey(), entry.getValue().averages());
+        }
+        if (current.isEmpty()) {
+            return "Page weight: no pages measured";
+        }
+
+        Map<String, Object> baseline = null;
+        try {
+            File directory = new File(Config.PERF_HISTORY_DIR);
+            Files.createDirectories(directory.toPath());
+            Files.write(new File(directory, "page-weight-" + profile + ".json").toPath(),
+                    new Json().toJson(current).getBytes(StandardCharsets.UTF_8));
+            File baselineFile = new File(directory, "page-weight-none.json");
+            if (!"none".equals(profile) && baselineFile.exists()) {
+                baseline = new Json().toType(
+                        new String(Files.readAllBytes(baselineFile.toPath()), StandardCharsets.UTF_8), Json.MAP_TYPE);
+            }
+        } catch (IOException e) {
+            log.warn("Could not persist page weight results: {}", e.getMessage());
+        }
+
+        StringBuilder report = new StringBuilder("Page weight (blocking profile: " + profile + ", blocked requests: "
+                + ResourceBlocker.shared().blockedCount() + "):\n");
+        for (Map.Entry<String, Object> entry : current.entrySet()) {
+            Map<String, Object> page = (Map<String, Object>) entry.getValue();
+            report.append(String.format("  %-20s load: %6d ms, transferred: %8.1f KB, requests: %4d",
+                    entry.getKey(), number(page, "loadMs"), number(page, "bytes") / 1024.0, number(page, "requests")));
+            Map<String, Object> before = baseline == null ? null : (Map<String, Object>) baseline.get(entry.getKey());
+            if (before != null) {
+                report.append(String.format("  (vs none: %+d ms, %+.1f KB)",
+                        number(page, "loadMs") - number(before, "loadMs"),
+                        (number(page, "bytes") - number(before, "bytes")) / 1024.0));
+            }
+            report.append('\n');
+        }
+        return report.toString().trim();
+    }
+
+    private static long number(Map<String, Object> values, String key) {
+        Object value = values.get(key);
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+
+    // Traffic of one driver since its last sample
+    private static class Traffic {
+        private final AtomicLong bytes = new AtomicLong();
+        private final AtomicLong requests = new AtomicLong();
+
+        void add(long encodedBytes) {
+            bytes.addAndGet(encodedBytes);
+            requests.incrementAndGet();
+        }
+    }
+
+    private static class Totals {
+        private final AtomicLong samples = new AtomicLong();
+        private final AtomicLong loadMs = new AtomicLong();
+        private final AtomicLong bytes = new AtomicLong();
+        private final AtomicLong requests = new AtomicLong();
+
+        void add(long load, long transferred, long count) {
+            samples.incrementAndGet();
+            loadMs.addAndGet(load);
+            bytes.addAndGet(transferred);
+            requests.addAndGet(count);
+        }
+
+        Map<String, Object> averages() {
+            long n = Math.max(1, samples.get());
+            Map<String, Object> averages = new LinkedHashMap<>();
+            averages.put("samples", samples.get());
+            averages.put("loadMs", loadMs.get() / n);
+            averages.put("bytes", bytes.get() / n);
+            averages.put("requests", requests.get() / n);
+            return averages;
+        }
+    }
+}
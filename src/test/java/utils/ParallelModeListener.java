@@ -0,0 +1,38 @@
+package utils;
+
+import config.Config;
+import java.util.List;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+/**
+ * Applies the parallel mode and thread count from Config to every suite before it runs,
+ * so the same testng.xml works sequentially by default and in parallel on CI, e.g.
+ * mvn test -Dtest.parallel=methods -Dtest.threads=8
+ * Thread count and heap use are reported at the end of the suite. The worker threads themselves
+ * come from TestNG's thread pool factory, which the virtual-suite profile sets to
+ * {@link VirtualThreadExecutorFactory} through TestNG's -threadpoolfactoryclass option.
+ */
+public class ParallelModeListener implements IAlterSuiteListener {
+    private static volatile ThreadUsage threadUsage;
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        System.out.print(Config.SETTINGS.describe());
+        XmlSuite.ParallelMode mode = XmlSuite.ParallelMode.getValidParallel(Config.PARALLEL_MODE);
+        for (XmlSuite suite : suites) {
+            suite.setParallel(mode);
+            suite.setThreadCount(Config.THREAD_COUNT);
+            suite.setDataProviderThreadCount(Config.THREAD_COUNT);
+            System.out.println("Suite '" + suite.getName() + "' parallel mode: " + mode
+                    + ", threads: " + Config.THREAD_COUNT + " (" + Concurrency.threadMode() + ")");
+        }
+        threadUsage = ThreadUsage.start("suite " + Config.PARALLEL_MODE + " x" + Config.THREAD_COUNT);
+    }
+
+    // Thread and heap use since the suite was configured, or null if it never was
+    public static String threadUsageReport() {
+        ThreadUsage usage = threadUsage;
+        return usage == null ? null : usage.stop();
+    }
+}
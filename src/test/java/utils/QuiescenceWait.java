@@ -0,0 +1,144 @@
+package utils;
+
+import config.Config;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Event-driven replacement for fixed sleeps. Instead of waiting a constant amount of time
+ * after an action, it polls the page until it is actually quiet: no pending XHR/fetch,
+ * jQuery idle, no DOM mutations for the configured idle window and (optionally) no
+ * running CSS animations on a given element.
+ *
+ * Every wait is capped at the legacy sleep it replaces, so the worst case is never slower
+ * than before; the difference is recorded per step and printed by {@link #savingsReport()}.
+ */
+public class QuiescenceWait {
+    private static final Logger log = LoggerFactory.getLogger(QuiescenceWait.class);
+    public static final String PROBE_SCRIPT = Scripts.load("quiescence-probe.js");
+
+    private static final String STATE_SCRIPT = PROBE_SCRIPT
+            + "var q = window.__quiescence;"
+            + "var el = arguments[0];"
+            + "var running = 0;"
+            + "if (el && el.getAnimations) {"
+            + "  running = el.getAnimations({subtree: true}).filter(function (a) { return a.playState === 'running'; }).length;"
+            + "}"
+            + "return {"
+            + "  readyState: document.readyState,"
+            + "  pending: q.pending,"
+            + "  jquery: (window.jQuery && window.jQuery.active) || 0,"
+            + "  idleMs: Date.now() - q.lastMutation,"
+            + "  animations: running"
+            + "};";
+
+    private static final ConcurrentMap<String, StepSavings> SAVINGS = new ConcurrentHashMap<>();
+
+    private final WebDriver driver;
+
+    public QuiescenceWait(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    // Wait until network and DOM are idle; replaces a fixed sleep of legacySleepMillis
+    public long awaitQuiet(String step, long legacySleepMillis) {
+        return await(step, null, legacySleepMillis);
+    }
+
+    // Same as awaitQuiet, but additionally waits for CSS animations/transitions inside element to finish
+    public long awaitAnimationsDone(String step, WebElement element, long legacySleepMillis) {
+        return await(step, element, legacySleepMillis);
+    }
+
+    private long await(String step, WebElement element, long capMillis) {
+        long start = System.currentTimeMillis();
+        long deadline = start + capMillis;
+
+        while (true) {
+            try {
+                if (isQuiet(element)) {
+                    break;
+                }
+            } catch (Exception e) {
+                // Page may be navigating or the element replaced; keep polling until the cap
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                log.debug("Step '{}' did not reach quiescence within {} ms", step, capMillis);
+                break;
+            }
+            sleepQuietly(Config.QUIESCENCE_POLL_MILLIS);
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        StepTimings.record(StepTimings.Category.WAIT, "quiescence: " + step, elapsed * 1_000_000);
+        SAVINGS.computeIfAbsent(step, StepSavings::new).record(capMillis, elapsed);
+        return elapsed;
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean isQuiet(WebElement element) {
+        Map<String, Object> state = (Map<String, Object>) ((JavascriptExecutor) driver)
+                .executeScript(STATE_SCRIPT, element);
+        return "complete".equals(state.get("readyState"))
+                && ((Number) state.get("pending")).longValue() == 0
+                && ((Number) state.get("jquery")).longValue() == 0
+                && ((Number) state.get("animations")).longValue() == 0
+                && ((Number) state.get("idleMs")).longValue() >= Config.QUIESCENCE_IDLE_MILLIS;
+    }
+
+    // Used where a fixed sleep guarded something that needs no wait at all (e.g. instant scrolling)
+    public static void recordSkippedSleep(String step, long legacySleepMillis) {
+        SAVINGS.computeIfAbsent(step, StepSavings::new).record(legacySleepMillis, 0);
+    }
+
+    public static String savingsReport() {
+        StringBuilder report = new StringBuilder("Wait time saved versus fixed sleeps:\n");
+        long totalSaved = 0;
+        for (StepSavings savings : SAVINGS.values()) {
+            report.append(savings).append('\n');
+            totalSaved += savings.savedMillis.get();
+        }
+        report.append(String.format("Total saved: %.1f s", totalSaved / 1000.0));
+        return report.toString();
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class StepSavings {
+        private final String step;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong legacyMillis = new AtomicLong();
+        private final AtomicLong actualMillis = new AtomicLong();
+        private final AtomicLong savedMillis = new AtomicLong();
+
+        StepSavings(String step) {
+            this.step = step;
+        }
+
+        void record(long legacy, long actual) {
+            count.incrementAndGet();
+            legacyMillis.addAndGet(legacy);
+            actualMillis.addAndGet(actual);
+            savedMillis.addAndGet(Math.max(0, legacy - actual));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("  %-45s calls: %3d, legacy: %7d ms, actual: %7d ms, saved: %7d ms",
+                    step, count.get(), legacyMillis.get(), actualMillis.get(), savedMillis.get());
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package utils;
+
+import config.Config;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+/**
+ * Blocks requests the functional assertions never need (third-party trackers, web fonts,
+ * carousel/banner images) so pages reach document.readyState sooner.
+ *
+ * Profiles: "none", "trackers" and "lean" (trackers + fonts + slider/banner images). Extra
+ * block patterns come from -Dblock.patterns; anything matching -Dblock.allow (by default the
+ * product cover image sizes used by ProductPage.hasProductImage) is never blocked.
+ * Patterns are globs where '*' matches any sequence of characters.
+ */
+public class ResourceBlocker {
+    private static final List<String> TRACKERS = Arrays.asList(
+            "*google-analytics.com*", "*googletagmanager.com*", "*doubleclick.net*", "*googleadservices.com*",
+            "*connect.facebook.net*", "*facebook.com/tr*", "*hotjar.com*", "*clarity.ms*", "*matomo*",
+            "*segment.io*", "*/collect?*");
+    private static final List<String> FONTS = Arrays.asList(
+            "*.woff", "*.woff2", "*.ttf", "*.otf", "*.eot", "*fonts.googleapis.com*", "*fonts.gstatic.com*");
+    private static final List<String> DECORATIVE_IMAGES = Arrays.asList(
+            "*/modules/ps_imageslider/*", "*/modules/ps_banner/*", "*/modules/ps_customtext/*");
+
+    private static ResourceBlocker shared;
+
+    private final String profile;
+    private final List<Pattern> blocked = new ArrayList<>();
+    private final List<Pattern> allowed = new ArrayList<>();
+    private final AtomicLong blockedCount = new AtomicLong();
+
+    public ResourceBlocker(String profile, List<String> extraBlocked, List<String> allowList) {
+        this.profile = profile.toLowerCase(Locale.ROOT);
+        List<String> patterns = new ArrayList<>();
+        switch (this.profile) {
+            case "none":
+                break;
+            case "trackers":
+                patterns.addAll(TRACKERS);
+                break;
+            case "lean":
+                patterns.addAll(TRACKERS);
+                patterns.addAll(FONTS);
+                patterns.addAll(DECORATIVE_IMAGES);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown blocking profile: " + profile
+                        + " (expected none, trackers or lean)");
+        }
+        patterns.addAll(extraBlocked);
+        for (String pattern : patterns) {
+            blocked.add(glob(pattern));
+        }
+        for (String pattern : allowList) {
+            allowed.add(glob(pattern));
+        }
+    }
+
+    // Shared instance for the configured profile, so blocked counts add up across pooled drivers
+    public static synchronized ResourceBlocker shared() {
+        if (shared == null) {
+            shared = new ResourceBlocker(Config.BLOCK_PROFILE, split(Config.BLOCK_PATTERNS), split(Config.BLOCK_ALLOW));
+        }
+        return shared;
+    }
+
+    public boolean isActive() {
+        return !blocked.isEmpty();
+    }
+
+    public String profile() {
+        return profile;
+    }
+
+    public long blockedCount() {
+        return blockedCount.get();
+    }
+
+    public boolean shouldBlock(String url) {
+        for (Pattern pattern : allowed) {
+            if (pattern.matcher(url).matches()) {
+                return false;
+            }
+        }
+        for (Pattern pattern : blocked) {
+            if (pattern.matcher(url).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Interception filter answering blocked requests with an empty response instead of hitting the network
+    public Filter filter() {
+        return next -> request -> {
+            if (shouldBlock(request.getUri())) {
+                blockedCount.incrementAndGet();
+                return new HttpResponse().setStatus(204);
+            }
+            return next.execute(request);
+        };
+    }
+
+    private static Pattern glob(String pattern) {
+        StringBuilder regex = new StringBuilder();
+        for (String part : pattern.split("\\*", -1)) {
+            if (regex.length() > 0) {
+                regex.append(".*");
+            }
+            regex.append(Pattern.quote(part));
+        }
+        return Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE);
+    }
+
+    private static List<String> split(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> values = new ArrayList<>();
+        for (String item : value.split(",")) {
+            if (!item.trim().isEmpty()) {
+                values.add(item.trim());
+            }
+        }
+        return values;
+    }
+}
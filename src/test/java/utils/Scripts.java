@@ -0,0 +1,31 @@
+package utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Loads the JavaScript snippets under src/test/resources/js once and caches them.
+ */
+public final class Scripts {
+    private static final ConcurrentMap<String, String> CACHE = new ConcurrentHashMap<>();
+
+    private Scripts() {
+    }
+
+    public static String load(String name) {
+        return CACHE.computeIfAbsent(name, key -> {
+            try (InputStream in = Scripts.class.getResourceAsStream("/js/" + key)) {
+                if (in == null) {
+                    throw new IllegalStateException("Missing resource /js/" + key);
+                }
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
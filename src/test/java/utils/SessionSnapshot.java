@@ -0,0 +1,121 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cookies and localStorage of an authenticated shop session, captured once and replayed into
+ * other drivers so they start logged in without going through the registration form.
+ *
+ * The shop URL is taken from the current frame, so capturing inside the demo's iframe and
+ * restoring into a fresh driver navigates straight to the inner shop.
+ */
+public class SessionSnapshot {
+    private static final Logger log = LoggerFactory.getLogger(SessionSnapshot.class);
+    private final String shopUrl;
+    private final List<Cookie> cookies;
+    private final Map<String, String> localStorage;
+
+    private SessionSnapshot(String shopUrl, List<Cookie> cookies, Map<String, String> localStorage) {
+        this.shopUrl = shopUrl;
+        this.cookies = Collections.unmodifiableList(cookies);
+        this.localStorage = Collections.unmodifiableMap(localStorage);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static SessionSnapshot capture(WebDriver driver) {
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        String shopUrl = (String) js.executeScript("return window.location.origin + '/';");
+        Map<String, String> storage = (Map<String, String>) js.executeScript(
+                "var items = {};"
+                        + "for (var i = 0; i < window.localStorage.length; i++) {"
+                        + "  var key = window.localStorage.key(i);"
+                        + "  items[key] = window.localStorage.getItem(key);"
+                        + "}"
+                        + "return items;");
+
+        List<Cookie> cookies = new ArrayList<>();
+        if (driver instanceof HasCdp) {
+            // Network.getCookies sees the shop frame's cookies even while the top document is the demo wrapper
+            Map<String, Object> params = new HashMap<>();
+            params.put("urls", Collections.singletonList(shopUrl));
+            Map<String, Object> result = ((HasCdp) driver).executeCdpCommand("Network.getCookies", params);
+            for (Map<String, Object> cookie : (List<Map<String, Object>>) result.get("cookies")) {
+                cookies.add(new Cookie.Builder((String) cookie.get("name"), (String) cookie.get("value"))
+                        .domain((String) cookie.get("domain"))
+                        .path((String) cookie.get("path"))
+                        .isSecure(Boolean.TRUE.equals(cookie.get("secure")))
+                        .isHttpOnly(Boolean.TRUE.equals(cookie.get("httpOnly")))
+                        .build());
+            }
+        } else {
+            cookies.addAll(driver.manage().getCookies());
+        }
+
+        if (storage == null) {
+            storage = new HashMap<>();
+        }
+        log.info("Captured session for {} ({} cookies, {} localStorage items)", shopUrl, cookies.size(),
+                storage.size());
+        return new SessionSnapshot(shopUrl, cookies, storage);
+    }
+
+    /**
+     * Replays the session into driver and leaves it on the shop's home page. Returns false if
+     * the cookies could not be applied; callers must still verify that the shop accepted them.
+     */
+    public boolean restoreInto(WebDriver driver) {
+        try {
+            driver.switchTo().defaultContent();
+            if (driver instanceof HasCdp) {
+                // Cookies can be set before the first navigation, saving a page load
+                List<Map<String, Object>> params = new ArrayList<>();
+                for (Cookie cookie : cookies) {
+                    Map<String, Object> param = new HashMap<>();
+                    param.put("name", cookie.getName());
+                    param.put("value", cookie.getValue());
+                    param.put("url", shopUrl);
+                    param.put("path", cookie.getPath());
+                    param.put("secure", cookie.isSecure());
+                    param.put("httpOnly", cookie.isHttpOnly());
+                    params.add(param);
+                }
+                Map<String, Object> command = new HashMap<>();
+                command.put("cookies", params);
+                ((HasCdp) driver).executeCdpCommand("Network.setCookies", command);
+                driver.get(shopUrl);
+            } else {
+                driver.get(shopUrl);
+                for (Cookie cookie : cookies) {
+                    driver.manage().addCookie(new Cookie(cookie.getName(), cookie.getValue(), cookie.getPath()));
+                }
+                driver.navigate().refresh();
+            }
+
+            if (!localStorage.isEmpty()) {
+                ((JavascriptExecutor) driver).executeScript(
+                        "var items = arguments[0];"
+                                + "for (var key in items) { window.localStorage.setItem(key, items[key]); }",
+                        localStorage);
+                driver.navigate().refresh();
+            }
+            return true;
+        } catch (Exception e) {
+            log.warn("Could not restore session snapshot: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    public String getShopUrl() {
+        return shopUrl;
+    }
+}
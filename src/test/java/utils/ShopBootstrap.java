@@ -0,0 +1,193 @@
+package utils;
+
+import config.Config;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Gets a driver from nothing to an interactive demo shop.
+ *
+ * demo.prestashop.com shows a wrapper page and loads the actual shop in the #framelive
+ * iframe once an instance is ready. Instead of working inside that frame, the bootstrap
+ * reads the frame's src and navigates to the inner shop directly. The resolved URL is reused
+ * by later bootstraps in the same JVM (or pinned with -Dshop.url), which skips the wrapper
+ * page entirely. If no URL can be resolved it switches into the #framelive element itself.
+ * Readiness is one targeted script check rather than an XPath text scan of the whole DOM.
+ *
+ * -Dshop.bootstrap=legacy keeps the previous frame-polling bootstrap, so
+ * time-to-first-interaction can be compared per mode in {@link #report()}.
+ */
+public class ShopBootstrap {
+    private static final Logger log = LoggerFactory.getLogger(ShopBootstrap.class);
+    private static final By SHOP_FRAME = By.cssSelector("iframe#framelive");
+    private static final String FRAME_URL_SCRIPT =
+            "var frame = document.getElementById('framelive');"
+                    + "var src = frame && (frame.src || frame.getAttribute('src'));"
+                    + "return src && src.indexOf('http') === 0 ? src : null;";
+    private static final String SHOP_READY_SCRIPT =
+            "return document.readyState === 'complete'"
+                    + " && !!document.querySelector('#header, #wrapper, #main')"
+                    + " && !document.querySelector('iframe#framelive');";
+
+    private static volatile String resolvedShopUrl = Config.SHOP_URL.isEmpty() ? null : Config.SHOP_URL;
+    private static final ConcurrentMap<String, ModeStats> STATS = new ConcurrentHashMap<>();
+
+    private final WebDriver driver;
+
+    public ShopBootstrap(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    public void open() {
+        long start = System.nanoTime();
+        String mode = "legacy".equalsIgnoreCase(Config.SHOP_BOOTSTRAP) ? legacy() : direct();
+        long nanos = System.nanoTime() - start;
+        StepTimings.record(StepTimings.Category.STEP, "ShopBootstrap." + mode, nanos);
+        STATS.computeIfAbsent(mode, ModeStats::new).record(nanos / 1_000_000);
+        log.info("Shop interactive after {} ms ({})", nanos / 1_000_000, mode);
+    }
+
+    private String direct() {
+        String known = resolvedShopUrl;
+        if (known != null) {
+            driver.get(known);
+            if (awaitShopReady(Config.SHOP_LOAD_TIMEOUT_SECONDS)) {
+                return "known url";
+            }
+            log.warn("Known shop URL {} is not serving a shop any more, resolving again", known);
+            resolvedShopUrl = null;
+        }
+
+        driver.get(Config.BASE_URL);
+        WebDriverWait wait = new AdaptiveWait(driver, Duration.ofSeconds(Config.SHOP_LOAD_TIMEOUT_SECONDS));
+        String shopUrl = null;
+        try {
+            shopUrl = wait.until(d -> (String) ((JavascriptExecutor) d).executeScript(FRAME_URL_SCRIPT));
+        } catch (Exception e) {
+            log.warn("Could not resolve the inner shop URL: {}", e.getMessage());
+        }
+
+        if (shopUrl != null) {
+            driver.get(shopUrl);
+            if (awaitShopReady(Config.SHOP_LOAD_TIMEOUT_SECONDS)) {
+                resolvedShopUrl = shopUrl;
+                log.info("Navigated directly to inner shop {}", shopUrl);
+                return "resolved url";
+            }
+            driver.get(Config.BASE_URL);
+        }
+
+        // Fall back to working inside the wrapper's shop frame, selected by id rather than position
+        try {
+            new AdaptiveWait(driver, Duration.ofSeconds(Config.FRAME_SWITCH_TIMEOUT_SECONDS))
+                    .until(ExpectedConditions.frameToBeAvailableAndSwitchToIt(SHOP_FRAME));
+            awaitShopReady(Config.SHOP_LOAD_TIMEOUT_SECONDS);
+        } catch (Exception e) {
+            log.warn("Shop loading completed with exception: {}", e.getMessage());
+        }
+        return "frame switch";
+    }
+
+    private boolean awaitShopReady(int timeoutSeconds) {
+        try {
+            new AdaptiveWait(driver, Duration.ofSeconds(timeoutSeconds))
+                    .until(d -> (Boolean) ((JavascriptExecutor) d).executeScript(SHOP_READY_SCRIPT));
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    // The original bootstrap: poll for any iframe, switch to the first one and scan for loading text
+    private String legacy() {
+        driver.get(Config.BASE_URL);
+        log.info("Waiting for shop to be fully available...");
+        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(Config.SHOP_LOAD_TIMEOUT_SECONDS),
+                Duration.ofMillis(Config.WAIT_POLL_MILLIS));
+        try {
+            // Wait for the iframe to load
+            wait.until(ExpectedConditions.presenceOfElementLocated(By.tagName("iframe")));
+            log.debug("Iframe detected");
+
+            // Switch to the iframe if it exists
+            WebDriverWait frameWait = new WebDriverWait(driver, Duration.ofSeconds(Config.FRAME_SWITCH_TIMEOUT_SECONDS),
+                    Duration.ofMillis(Config.WAIT_POLL_MILLIS));
+            frameWait.until(d -> {
+                try {
+                    List<WebElement> iframes = d.findElements(By.tagName("iframe"));
+                    if (!iframes.isEmpty()) {
+                        d.switchTo().frame(iframes.get(0));
+                        log.debug("Switched to iframe");
+                        return true;
+                    }
+                    return true; // No iframe, continue
+                } catch (Exception e) {
+                    return false;
+                }
+            });
+
+            // Wait for loading message to disappear
+            By loadingLocator = By.xpath("//*[contains(text(), 'A shop is on its way') or contains(text(), 'STRATEGY') or contains(text(), 'PRESTASHOP')]");
+            wait.until(ExpectedConditions.invisibilityOfElementLocated(loadingLocator));
+            log.debug("Loading message disappeared");
+
+            // Wait for page to be interactive
+            wait.until(d -> {
+                String readyState = ((JavascriptExecutor) d).executeScript("return document.readyState;").toString();
+                return "complete".equals(readyState);
+            });
+            log.debug("Page is interactive");
+
+        } catch (Exception e) {
+            log.warn("Shop loading completed with exception: {}", e.getMessage());
+            // Continue anyway
+        }
+        return "legacy";
+    }
+
+    public static String report() {
+        if (STATS.isEmpty()) {
+            return "Time to first interaction: no shop bootstraps";
+        }
+        StringBuilder report = new StringBuilder("Time to first interaction per bootstrap mode:\n");
+        for (Map.Entry<String, ModeStats> entry : STATS.entrySet()) {
+            report.append(entry.getValue()).append('\n');
+        }
+        return report.toString().trim();
+    }
+
+    private static class ModeStats {
+        private final String mode;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalMillis = new AtomicLong();
+        private final AtomicLong maxMillis = new AtomicLong();
+
+        ModeStats(String mode) {
+            this.mode = mode;
+        }
+
+        void record(long millis) {
+            count.incrementAndGet();
+            totalMillis.addAndGet(millis);
+            maxMillis.accumulateAndGet(millis, Math::max);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("  %-14s runs: %3d, mean: %7d ms, max: %7d ms",
+                    mode, count.get(), totalMillis.get() / Math.max(1, count.get()), maxMillis.get());
+        }
+    }
+}
@@ -0,0 +1,392 @@
+package utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import config.Config;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-process stand-in for the PrestaShop demo shop, built on the JDK HttpServer.
+ *
+ * It serves home, login, registration, search, product and cart pages from the templates in
+ * src/test/resources/standin, using the same markup and selectors as the classic theme, so
+ * the page objects run unchanged, offline and without the demo's multi-second shop boot.
+ * Customers and carts are kept in memory per session cookie.
+ */
+public class StandInShopServer {
+    private static final String SESSION_COOKIE = "standin_session";
+    private static StandInShopServer shared;
+
+    private final Map<String, Product> catalog = new LinkedHashMap<>();
+    private final ConcurrentMap<String, Session> sessions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> customers = new ConcurrentHashMap<>();
+    private final Map<String, String> templates = new ConcurrentHashMap<>();
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public StandInShopServer(int port) {
+        addProduct(1, "Hummingbird printed t-shirt", 23.90, "#8fb8de");
+        addProduct(2, "Hummingbird notebook", 12.90, "#f2c14e");
+        addProduct(3, "Mountain fox notebook", 12.90, "#f78154");
+        addProduct(4, "Brown bear notebook", 12.90, "#5fad56");
+        addProduct(5, "Mug The best is yet to come", 11.90, "#4d9078");
+        addProduct(6, "Mug Today is a good day", 11.90, "#b4436c");
+        addProduct(7, "The best is yet to come' Framed poster", 29.00, "#3d5a80");
+        addProduct(8, "The adventure begins Framed poster", 29.00, "#98c1d9");
+
+        try {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start stand-in shop on port " + port, e);
+        }
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    // Shared instance started on first use, bound to Config.STANDIN_PORT (0 = any free port)
+    public static synchronized StandInShopServer shared() {
+        if (shared == null) {
+            shared = new StandInShopServer(Config.STANDIN_PORT);
+            shared.start();
+        }
+        return shared;
+    }
+
+    public static synchronized void stopShared() {
+        if (shared != null) {
+            shared.stop();
+            shared = null;
+        }
+    }
+
+    public void start() {
+        server.start();
+        System.out.println("Stand-in shop listening on " + baseUrl());
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    private void addProduct(int id, String name, double price, String color) {
+        catalog.put(String.valueOf(id), new Product(String.valueOf(id), name, price, color));
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            Session session = session(exchange);
+
+            if (path.equals("/") || path.equals("/index.php")) {
+                sendPage(exchange, session, "Home", "index", render("home.html", "products", tiles(catalog.values())));
+            } else if (path.equals("/login")) {
+                handleLogin(exchange, session);
+            } else if (path.equals("/registration")) {
+                handleRegistration(exchange, session);
+            } else if (path.equals("/logout")) {
+                session.customer = null;
+                redirect(exchange, "/");
+            } else if (path.equals("/search")) {
+                handleSearch(exchange, session);
+            } else if (path.startsWith("/product/")) {
+                handleProduct(exchange, session, path.substring("/product/".length()));
+            } else if (path.equals("/cart")) {
+                handleCart(exchange, session);
+            } else if (path.startsWith("/img/p/")) {
+                handleImage(exchange, path.substring("/img/p/".length()).replace(".svg", ""));
+            } else if (path.equals("/assets/theme.css")) {
+                sendAsset(exchange, "text/css", template("theme.css"));
+            } else if (path.equals("/assets/theme.js")) {
+                sendAsset(exchange, "application/javascript", template("theme.js"));
+            } else {
+                send(exchange, 404, "text/plain", "Not found");
+            }
+        } catch (RuntimeException e) {
+            send(exchange, 500, "text/plain", "Stand-in shop error: " + e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleLogin(HttpExchange exchange, Session session) throws IOException {
+        String errorClass = "hidden";
+        if ("POST".equals(exchange.getRequestMethod())) {
+            Map<String, String> form = parseQuery(readBody(exchange));
+            String email = form.getOrDefault("email", "");
+            String password = customers.get(email);
+            if (password != null && password.equals(form.get("password"))) {
+                session.customer = email;
+                redirect(exchange, "/");
+                return;
+            }
+            errorClass = "";
+        }
+        sendPage(exchange, session, "Login", "authentication", render("login.html", "errorClass", errorClass));
+    }
+
+    private void handleRegistration(HttpExchange exchange, Session session) throws IOException {
+        if ("POST".equals(exchange.getRequestMethod())) {
+            Map<String, String> form = parseQuery(readBody(exchange));
+            String email = form.getOrDefault("email", "");
+            if (!email.isEmpty() && form.containsKey("psgdpr") && form.containsKey("customer_privacy")) {
+                customers.put(email, form.getOrDefault("password", ""));
+                session.customer = email;
+                session.customerName = form.getOrDefault("firstname", "") + " " + form.getOrDefault("lastname", "");
+                redirect(exchange, "/");
+                return;
+            }
+        }
+        sendPage(exchange, session, "Registration", "registration", template("registration.html"));
+    }
+
+    private void handleSearch(HttpExchange exchange, Session session) throws IOException {
+        String query = parseQuery(exchange.getRequestURI().getRawQuery()).getOrDefault("s", "").trim();
+        List<Product> matches = new ArrayList<>();
+        for (Product product : catalog.values()) {
+            if (!query.isEmpty() && product.name.toLowerCase(Locale.ROOT).contains(query.toLowerCase(Locale.ROOT))) {
+                matches.add(product);
+            }
+        }
+        String content = render("search.html",
+                "products", tiles(matches),
+                "noResultsClass", matches.isEmpty() ? "" : "hidden");
+        session.lastQuery = query;
+        sendPage(exchange, session, "Search", "search", content);
+    }
+
+    private void handleProduct(HttpExchange exchange, Session session, String id) throws IOException {
+        Product product = catalog.get(id);
+        if (product == null) {
+            send(exchange, 404, "text/plain", "Unknown product " + id);
+            return;
+        }
+        String content = render("product.html",
+                "id", product.id,
+                "name", escape(product.name),
+                "price", product.formattedPrice());
+        sendPage(exchange, session, product.name, "product", content);
+    }
+
+    private void handleCart(HttpExchange exchange, Session session) throws IOException {
+        if ("POST".equals(exchange.getRequestMethod())) {
+            String id = parseQuery(readBody(exchange)).get("id_product");
+            if (id != null && catalog.containsKey(id)) {
+                session.cart.merge(id, 1, Integer::sum);
+            }
+            send(exchange, 200, "text/plain", String.valueOf(session.itemCount()));
+            return;
+        }
+
+        StringBuilder lines = new StringBuilder();
+        double subtotal = 0;
+        for (Map.Entry<String, Integer> line : session.cartLines()) {
+            Product product = catalog.get(line.getKey());
+            subtotal += product.price * line.getValue();
+            lines.append("        <li class=\"cart-item\" data-id-product=\"").append(product.id).append("\">")
+                    .append("<img src=\"/img/p/").append(product.id).append(".svg\" alt=\"\" width=\"80\">")
+                    .append("<a class=\"label product-name\" href=\"/product/").append(product.id).append("\">")
+                    .append(escape(product.name)).append("</a>")
+                    .append("<span class=\"price\">").append(product.formattedPrice()).append("</span>")
+                    .append("<input class=\"js-cart-line-product-quantity\" type=\"number\" value=\"")
+                    .append(line.getValue()).append("\"></li>\n");
+        }
+        String content = render("cart.html",
+                "lines", lines.toString(),
+                "emptyClass", session.cart.isEmpty() ? "" : "hidden",
+                "subtotal", String.format(Locale.ROOT, "$%.2f", subtotal));
+        sendPage(exchange, session, "Cart", "cart", content);
+    }
+
+    private void handleImage(HttpExchange exchange, String id) throws IOException {
+        Product product = catalog.get(id);
+        if (product == null) {
+            send(exchange, 404, "text/plain", "Unknown image " + id);
+            return;
+        }
+        String svg = "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"250\" height=\"250\">"
+                + "<rect width=\"250\" height=\"250\" fill=\"" + product.color + "\"/>"
+                + "<text x=\"125\" y=\"130\" font-size=\"14\" text-anchor=\"middle\">" + escape(product.name) + "</text>"
+                + "</svg>";
+        sendAsset(exchange, "image/svg+xml", svg);
+    }
+
+    private String tiles(Iterable<Product> products) {
+        StringBuilder html = new StringBuilder();
+        for (Product product : products) {
+            html.append("    <article class=\"product-miniature js-product-miniature\" data-id-product=\"")
+                    .append(product.id).append("\">")
+                    .append("<a class=\"thumbnail product-thumbnail\" href=\"/product/").append(product.id).append("\">")
+                    .append("<img src=\"/img/p/").append(product.id).append(".svg\" alt=\"").append(escape(product.name))
+                    .append("\" width=\"250\" height=\"250\"></a>")
+                    .append("<h2 class=\"h3 product-title\"><a href=\"/product/").append(product.id).append("\">")
+                    .append(escape(product.name)).append("</a></h2>")
+                    .append("<span class=\"price\">").append(product.formattedPrice()).append("</span>")
+                    .append("</article>\n");
+        }
+        return html.toString();
+    }
+
+    private void sendPage(HttpExchange exchange, Session session, String title, String pageId, String content)
+            throws IOException {
+        String userInfo = session.customer == null
+                ? "<a href=\"/login\" title=\"Log in to your customer account\" rel=\"nofollow\">Sign in</a>"
+                : "<a class=\"account\" href=\"/my-account\" title=\"View my customer account\" rel=\"nofollow\">"
+                + escape(session.customerName == null ? session.customer : session.customerName) + "</a> "
+                + "<a class=\"logout\" href=\"/logout\" rel=\"nofollow\">Sign out</a>";
+        String html = render("layout.html",
+                "title", escape(title),
+                "pageId", pageId,
+                "userInfo", userInfo,
+                "cartCount", String.valueOf(session.itemCount()),
+                "query", escape(session.lastQuery == null || !"search".equals(pageId) ? "" : session.lastQuery),
+                "content", content);
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        send(exchange, 200, "text/html; charset=utf-8", html);
+    }
+
+    private void sendAsset(HttpExchange exchange, String contentType, String body) throws IOException {
+        exchange.getResponseHeaders().set("Cache-Control", "public, max-age=3600");
+        send(exchange, 200, contentType, body);
+    }
+
+    private void redirect(HttpExchange exchange, String location) throws IOException {
+        exchange.getResponseHeaders().set("Location", location);
+        exchange.sendResponseHeaders(302, -1);
+    }
+
+    private void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private Session session(HttpExchange exchange) {
+        String cookies = exchange.getRequestHeaders().getFirst("Cookie");
+        if (cookies != null) {
+            for (String cookie : cookies.split(";")) {
+                String[] pair = cookie.trim().split("=", 2);
+                if (pair.length == 2 && pair[0].equals(SESSION_COOKIE) && sessions.containsKey(pair[1])) {
+                    return sessions.get(pair[1]);
+                }
+            }
+        }
+        String id = UUID.randomUUID().toString();
+        Session session = new Session();
+        sessions.put(id, session);
+        exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=" + id + "; Path=/; HttpOnly");
+        return session;
+    }
+
+    private String render(String name, String... keyValues) {
+        String html = template(name);
+        for (int i = 0; i + 1 < keyValues.length; i += 2) {
+            html = html.replace("{{" + keyValues[i] + "}}", keyValues[i + 1]);
+        }
+        return html;
+    }
+
+    private String template(String name) {
+        return templates.computeIfAbsent(name, key -> {
+            try (InputStream in = StandInShopServer.class.getResourceAsStream("/standin/" + key)) {
+                if (in == null) {
+                    throw new IllegalStateException("Missing stand-in template " + key);
+                }
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> values = new HashMap<>();
+        if (query == null || query.isEmpty()) {
+            return values;
+        }
+        for (String pair : query.split("&")) {
+            String[] parts = pair.split("=", 2);
+            String key = URLDecoder.decode(parts[0], StandardCharsets.UTF_8);
+            String value = parts.length > 1 ? URLDecoder.decode(parts[1], StandardCharsets.UTF_8) : "";
+            values.put(key, value);
+        }
+        return values;
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;")
+                .replace("\"", "&quot;").replace("'", "&#39;");
+    }
+
+    private static class Product {
+        private final String id;
+        private final String name;
+        private final double price;
+        private final String color;
+
+        Product(String id, String name, double price, String color) {
+            this.id = id;
+            this.name = name;
+            this.price = price;
+            this.color = color;
+        }
+
+        String formattedPrice() {
+            return String.format(Locale.ROOT, "$%.2f", price);
+        }
+    }
+
+    private static class Session {
+        private volatile String customer;
+        private volatile String customerName;
+        private volatile String lastQuery;
+        // Insertion-ordered so the first product added is the first cart line
+        private final Map<String, Integer> cart = Collections.synchronizedMap(new LinkedHashMap<>());
+
+        List<Map.Entry<String, Integer>> cartLines() {
+            synchronized (cart) {
+                return new ArrayList<>(cart.entrySet());
+            }
+        }
+
+        int itemCount() {
+            int count = 0;
+            for (Map.Entry<String, Integer> line : cartLines()) {
+                count += line.getValue();
+            }
+            return count;
+        }
+    }
+}
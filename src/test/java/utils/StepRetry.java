@@ -0,0 +1,224 @@
+package utils;
+
+import config.Config;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Retries idempotent page-object steps and keeps flakiness statistics per step across runs.
+ *
+ * A step that throws a WebDriverException (timeouts, stale or missing elements, intercepted
+ * clicks) is repeated up to step.retries times with exponential backoff from
+ * step.retryBackoffMillis; other exceptions fail immediately. All attempts share one
+ * timeout.transitionBudget (see {@link AdaptiveWait#sharedBudget}), and no retry starts once
+ * it is spent, so retries never stretch a step beyond its normal worst case. Every run counts as passed first
+ * time, flaky (passed after a retry) or failed, accumulated in .perf/step-flakiness.json. Steps
+ * that were flaky or failed in at least flaky.quarantinePercent of their last runs are
+ * quarantined: they get flaky.quarantineRetries attempts and are listed in the report until
+ * they recover. Whole-test retries from {@link TestRetry} are counted here as "test:<name>".
+ */
+public final class StepRetry {
+    private static final Logger log = LoggerFactory.getLogger(StepRetry.class);
+    private static final int MIN_RUNS_FOR_QUARANTINE = 5;
+    private static final long MAX_BACKOFF_MILLIS = 5_000;
+
+    private static final ConcurrentMap<String, Flakiness> HISTORY = load();
+    private static final ConcurrentMap<String, Flakiness> THIS_RUN = new ConcurrentHashMap<>();
+
+    private StepRetry() {
+    }
+
+    /**
+     * Runs first, and on a retryable failure retry, until one succeeds or the attempts for this
+     * step are used up; the last failure is rethrown.
+     */
+    public static <T> T run(String step, Supplier<T> first, Supplier<T> retry) {
+        return AdaptiveWait.sharedBudget(() -> attempt(step, first, retry));
+    }
+
+    private static <T> T attempt(String step, Supplier<T> first, Supplier<T> retry) {
+        int attempts = 1 + (isQuarantined(step) ? Config.QUARANTINE_STEP_RETRIES : Config.STEP_RETRIES);
+        long backoff = Config.STEP_RETRY_BACKOFF_MILLIS;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                T result = (attempt == 1 ? first : retry).get();
+                record(step, attempt == 1 ? Outcome.PASSED : Outcome.FLAKY, attempt - 1);
+                return result;
+            } catch (WebDriverException e) {
+                if (attempt >= attempts || AdaptiveWait.remainingSharedBudgetMillis() <= backoff) {
+                    record(step, Outcome.FAILED, attempt - 1);
+                    throw e;
+                }
+                log.warn("Step {} failed (attempt {} of {}), retrying in {} ms: {}", step, attempt, attempts,
+                        backoff, firstLine(e.getMessage()));
+                sleep(backoff);
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            } catch (RuntimeException | Error e) {
+                record(step, Outcome.FAILED, attempt - 1);
+                throw e;
+            }
+        }
+    }
+
+    public static boolean isQuarantined(String step) {
+        Flakiness history = HISTORY.get(step);
+        return history != null && history.isChronic();
+    }
+
+    // Each whole-test retry counts as one flaky run of "test:<name>"
+    static void recordTestRetry(String test) {
+        record("test:" + test, Outcome.FLAKY, 1);
+    }
+
+    private static void record(String step, Outcome outcome, int retries) {
+        THIS_RUN.computeIfAbsent(step, name -> new Flakiness()).record(outcome, retries);
+        HISTORY.computeIfAbsent(step, name -> new Flakiness()).record(outcome, retries);
+    }
+
+    // Persists the accumulated statistics and returns this run's retries and the quarantined steps
+    public static String saveFlakinessReport() {
+        Map<String, Object> data = new TreeMap<>();
+        HISTORY.forEach((step, flakiness) -> data.put(step, flakiness.toMap()));
+        File file = historyFile();
+        try {
+            Files.createDirectories(file.getParentFile().toPath());
+            Files.write(file.toPath(), new Json().toJson(data).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            log.warn("Could not save step flakiness: {}", e.getMessage());
+        }
+
+        StringBuilder report = new StringBuilder("Step retries this run:\n");
+        boolean anyRetries = false;
+        for (Map.Entry<String, Flakiness> entry : new TreeMap<>(THIS_RUN).entrySet()) {
+            if (entry.getValue().retries > 0 || entry.getValue().failed > 0) {
+                report.append(String.format("  %-45s %s%n", entry.getKey(), entry.getValue()));
+                anyRetries = true;
+            }
+        }
+        if (!anyRetries) {
+            report.append("  none\n");
+        }
+        report.append("Quarantined (flaky or failing in >= ").append(Config.FLAKY_QUARANTINE_PERCENT)
+                .append("% of recent runs):\n");
+        List<String> quarantined = new ArrayList<>();
+        new TreeMap<>(HISTORY).forEach((step, flakiness) -> {
+            if (flakiness.isChronic()) {
+                quarantined.add(String.format("  %-45s %s", step, flakiness));
+            }
+        });
+        report.append(quarantined.isEmpty() ? "  none" : String.join("\n", quarantined));
+        return report.toString();
+    }
+
+    private static ConcurrentMap<String, Flakiness> load() {
+        ConcurrentMap<String, Flakiness> history = new ConcurrentHashMap<>();
+        File file = historyFile();
+        if (!file.exists()) {
+            return history;
+        }
+        try {
+            String json = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+            Map<String, Object> data = new Json().toType(json, Json.MAP_TYPE);
+            data.forEach((step, value) -> {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> counts = (Map<String, Object>) value;
+                history.put(step, Flakiness.fromMap(counts));
+            });
+        } catch (Exception e) {
+            log.warn("Ignoring unreadable step flakiness history: {}", e.getMessage());
+        }
+        return history;
+    }
+
+    private static File historyFile() {
+        return new File(Config.PERF_HISTORY_DIR, "step-flakiness.json");
+    }
+
+    private static String firstLine(String message) {
+        if (message == null) {
+            return "";
+        }
+        int newline = message.indexOf('\n');
+        return newline < 0 ? message : message.substring(0, newline);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while backing off a step retry", e);
+        }
+    }
+
+    private enum Outcome {
+        PASSED, FLAKY, FAILED
+    }
+
+    // Run counts of one step; recent is an exponentially decayed bad-run rate, so steps leave quarantine once fixed
+    private static class Flakiness {
+        private static final double DECAY = 0.8;
+
+        private long runs;
+        private long flaky;
+        private long failed;
+        private long retries;
+        private double recentBadRate;
+
+        synchronized void record(Outcome outcome, int extraAttempts) {
+            runs++;
+            retries += extraAttempts;
+            boolean bad = outcome != Outcome.PASSED;
+            if (outcome == Outcome.FLAKY) {
+                flaky++;
+            } else if (outcome == Outcome.FAILED) {
+                failed++;
+            }
+            recentBadRate = runs == 1 ? (bad ? 1 : 0) : DECAY * recentBadRate + (1 - DECAY) * (bad ? 1 : 0);
+        }
+
+        synchronized boolean isChronic() {
+            return runs >= MIN_RUNS_FOR_QUARANTINE && recentBadRate * 100 >= Config.FLAKY_QUARANTINE_PERCENT;
+        }
+
+        synchronized Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("runs", runs);
+            map.put("flaky", flaky);
+            map.put("failed", failed);
+            map.put("retries", retries);
+            map.put("recentBadRate", recentBadRate);
+            return map;
+        }
+
+        static Flakiness fromMap(Map<String, Object> map) {
+            Flakiness flakiness = new Flakiness();
+            flakiness.runs = ((Number) map.get("runs")).longValue();
+            flakiness.flaky = ((Number) map.get("flaky")).longValue();
+            flakiness.failed = ((Number) map.get("failed")).longValue();
+            flakiness.retries = ((Number) map.get("retries")).longValue();
+            flakiness.recentBadRate = ((Number) map.get("recentBadRate")).doubleValue();
+            return flakiness;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return String.format("runs: %4d, flaky: %3d, failed: %3d, retries: %3d, recent bad rate: %3.0f%%",
+                    runs, flaky, failed, retries, recentBadRate * 100);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package utils;
+
+import config.Config;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.openqa.selenium.json.Json;
+
+/**
+ * Wall-clock latency histograms for page-object steps, wait strategies and individual
+ * WebDriver commands, aggregated over every scenario run in the JVM.
+ *
+ * Values are recorded in microseconds into HdrHistograms, so percentiles stay accurate
+ * from sub-millisecond commands up to minute-long page loads.
+ */
+public final class StepTimings {
+
+    public enum Category {
+        STEP, WAIT, COMMAND
+    }
+
+    private static final ConcurrentMap<String, Histogram> HISTOGRAMS = new ConcurrentHashMap<>();
+    // Timings of the current test on this thread, kept for the failure artifacts; capped so long tests stay cheap
+    private static final int TRACE_LIMIT = 5_000;
+    private static final ThreadLocal<List<Map<String, Object>>> TRACE = new ThreadLocal<>();
+
+    private StepTimings() {
+    }
+
+    public static <T> T time(Category category, String name, Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            record(category, name, System.nanoTime() - start);
+        }
+    }
+
+    public static void time(Category category, String name, Runnable action) {
+        long start = System.nanoTime();
+        try {
+            action.run();
+        } finally {
+            record(category, name, System.nanoTime() - start);
+        }
+    }
+
+    public static void record(Category category, String name, long nanos) {
+        HISTOGRAMS.computeIfAbsent(key(category, name), k -> new ConcurrentHistogram(3))
+                .recordValue(Math.max(0, nanos / 1_000));
+
+        List<Map<String, Object>> trace = TRACE.get();
+        if (trace != null && trace.size() < TRACE_LIMIT) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("endedAt", Instant.now().toString());
+            entry.put("category", category.name().toLowerCase());
+            entry.put("name", name);
+            entry.put("ms", millis(nanos / 1_000.0));
+            trace.add(entry);
+        }
+    }
+
+    // Starts recording an ordered trace of every timing on this thread, replacing any previous one
+    public static void startTrace() {
+        TRACE.set(new ArrayList<>());
+    }
+
+    // The trace recorded on this thread since startTrace(), oldest first (empty if none)
+    public static List<Map<String, Object>> trace() {
+        List<Map<String, Object>> trace = TRACE.get();
+        return trace == null ? new ArrayList<>() : new ArrayList<>(trace);
+    }
+
+    public static void stopTrace() {
+        TRACE.remove();
+    }
+
+    private static String key(Category category, String name) {
+        return category.name().toLowerCase() + ":" + name;
+    }
+
+    // One row per category/name, sorted by key, with durations in milliseconds
+    public static List<Map<String, Object>> snapshot() {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(HISTOGRAMS).entrySet()) {
+            String[] parts = entry.getKey().split(":", 2);
+            Histogram histogram = entry.getValue().copy();
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("category", parts[0]);
+            row.put("name", parts[1]);
+            row.put("count", histogram.getTotalCount());
+            row.put("totalMs", millis(histogram.getMean() * histogram.getTotalCount()));
+            row.put("meanMs", millis(histogram.getMean()));
+            row.put("minMs", millis(histogram.getMinValue()));
+            row.put("p50Ms", millis(histogram.getValueAtPercentile(50)));
+            row.put("p95Ms", millis(histogram.getValueAtPercentile(95)));
+            row.put("p99Ms", millis(histogram.getValueAtPercentile(99)));
+            row.put("maxMs", millis(histogram.getMaxValue()));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static double millis(double micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+
+    /**
+     * Writes step-timings.json and step-timings.csv into directory and appends the run's
+     * percentiles to the history file, so regressions show up across nightly runs.
+     */
+    public static void writeReport(File directory) {
+        List<Map<String, Object>> rows = snapshot();
+        String runAt = Instant.now().toString();
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("runAt", runAt);
+        report.put("browser", Config.BROWSER);
+        report.put("timings", rows);
+
+        StringBuilder csv = new StringBuilder("category,name,count,totalMs,meanMs,minMs,p50Ms,p95Ms,p99Ms,maxMs\n");
+        StringBuilder history = new StringBuilder();
+        for (Map<String, Object> row : rows) {
+            String line = String.join(",", stringValues(row));
+            csv.append(line).append('\n');
+            history.append(runAt).append(',').append(Config.BROWSER).append(',').append(line).append('\n');
+        }
+
+        try {
+            Files.createDirectories(directory.toPath());
+            Files.write(new File(directory, "step-timings.json").toPath(),
+                    new Json().toJson(report).getBytes(StandardCharsets.UTF_8));
+            Files.write(new File(directory, "step-timings.csv").toPath(),
+                    csv.toString().getBytes(StandardCharsets.UTF_8));
+
+            File historyFile = new File(Config.PERF_HISTORY_DIR, "step-timings-history.csv");
+            Files.createDirectories(historyFile.getParentFile().toPath());
+            if (!historyFile.exists()) {
+                history.insert(0, "runAt,browser,category,name,count,totalMs,meanMs,minMs,p50Ms,p95Ms,p99Ms,maxMs\n");
+            }
+            Files.write(historyFile.toPath(), history.toString().getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<String> stringValues(Map<String, Object> row) {
+        List<String> values = new ArrayList<>();
+        for (Object value : row.values()) {
+            String text = String.valueOf(value);
+            values.add(text.contains(",") ? "\"" + text.replace("\"", "\"\"") + "\"" : text);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,74 @@
+package utils;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Structured concurrency for groups of browser tasks, in the style of the JDK's
+ * StructuredTaskScope.ShutdownOnFailure (not available at this source level): subtasks are
+ * forked into the scope, the owner joins them, and the first subtask that fails cancels the
+ * rest. Closing the scope cancels anything still running, so no subtask outlives its owner.
+ *
+ *   try (TaskScope scope = new TaskScope("warm-up", 4)) {
+ *       scope.fork(() -> ...);
+ *       scope.join(Duration.ofMinutes(5));
+ *       scope.throwIfFailed();
+ *   }
+ */
+public class TaskScope implements AutoCloseable {
+    private final String name;
+    private final ExecutorService executor;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    // Subtasks run on threads from Concurrency, at most maxConcurrency at a time
+    public TaskScope(String name, int maxConcurrency) {
+        this.name = name;
+        this.executor = Concurrency.newExecutor(name, maxConcurrency);
+    }
+
+    public <T> Future<T> fork(Callable<T> task) {
+        return executor.submit(() -> {
+            try {
+                return task.call();
+            } catch (Exception | Error e) {
+                if (failure.compareAndSet(null, e)) {
+                    // First failure: interrupt the siblings and drop the ones not yet started
+                    executor.shutdownNow();
+                }
+                throw e;
+            }
+        });
+    }
+
+    public Future<?> fork(Runnable task) {
+        return fork(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    // Waits for every subtask (no further forks). Returns false if some were still running at the timeout.
+    public boolean join(Duration timeout) throws InterruptedException {
+        executor.shutdown();
+        return executor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void throwIfFailed() throws ExecutionException {
+        Throwable first = failure.get();
+        if (first != null) {
+            throw new ExecutionException("A subtask of scope '" + name + "' failed", first);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!executor.isTerminated()) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package utils;
+
+import config.Config;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAnnotationTransformer;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+import org.testng.annotations.ITestAnnotation;
+
+/**
+ * Whole-test retry as a last resort, after step-level retries ({@link StepRetry}) have not
+ * helped. Registered in testng.xml, it gives every test without its own retry analyzer one that
+ * re-runs a failed test up to test.retries times (0 disables it). Each retry starts from a fresh
+ * setUp, so it costs a full scenario; the step retries are the cheap path.
+ */
+public class TestRetry implements IAnnotationTransformer {
+    private static final Logger log = LoggerFactory.getLogger(TestRetry.class);
+
+    @Override
+    public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor, Method testMethod) {
+        if (annotation.getRetryAnalyzerClass() == null
+                || annotation.getRetryAnalyzerClass().getName().startsWith("org.testng.")) {
+            annotation.setRetryAnalyzer(Analyzer.class);
+        }
+    }
+
+    // One instance per test method
+    public static class Analyzer implements IRetryAnalyzer {
+        private int retries;
+
+        @Override
+        public boolean retry(ITestResult result) {
+            if (retries >= Config.TEST_RETRIES) {
+                return false;
+            }
+            retries++;
+            String test = result.getMethod().getMethodName();
+            log.warn("Retrying {} ({} of {}) after: {}", test, retries, Config.TEST_RETRIES,
+                    String.valueOf(result.getThrowable()));
+            StepRetry.recordTestRetry(test);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Registration data for one shop customer, as handed out by {@link UserPool}.
+ */
+public final class TestUser {
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+    private final String password;
+    private final String birthdate;
+
+    TestUser(String firstName, String lastName, String email, String password, String birthdate) {
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.password = password;
+        this.birthdate = birthdate;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    // YYYY-MM-DD, the format of the shop's birthday field
+    public String getBirthdate() {
+        return birthdate;
+    }
+
+    // Same account data under the given name, for tests that choose their own customer names
+    public TestUser withName(String firstName, String lastName) {
+        return new TestUser(firstName, lastName, email, password, birthdate);
+    }
+
+    Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("firstName", firstName);
+        map.put("lastName", lastName);
+        map.put("email", email);
+        map.put("password", password);
+        map.put("birthdate", birthdate);
+        return map;
+    }
+
+    static TestUser fromMap(Map<String, Object> map) {
+        return new TestUser((String) map.get("firstName"), (String) map.get("lastName"), (String) map.get("email"),
+                (String) map.get("password"), (String) map.get("birthdate"));
+    }
+
+    @Override
+    public String toString() {
+        return firstName + " " + lastName + " <" + email + ">";
+    }
+}
@@ -0,0 +1,114 @@
+package utils;
+
+import config.Config;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Platform thread count and heap use of a concurrent run (parallel suite or load mode), sampled
+ * through the JVM's MXBeans. Virtual threads are not platform threads and do not appear in the
+ * thread count, which is what the virtual/platform comparison is about. Each run is appended
+ * to .perf/thread-usage-history.csv, and the report compares it with the last run of the same
+ * context in the other thread mode (-Dthreads.virtual=false).
+ */
+public class ThreadUsage {
+    private static final long SAMPLE_MILLIS = 200;
+
+    private final String context;
+    private final String mode = Concurrency.threadMode();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final AtomicLong peakHeapBytes = new AtomicLong();
+    private final ScheduledExecutorService sampler;
+    private final int threadsAtStart;
+
+    private ThreadUsage(String context) {
+        this.context = context;
+        threads.resetPeakThreadCount();
+        threadsAtStart = threads.getThreadCount();
+        sampler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "thread-usage-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampler.scheduleAtFixedRate(this::sample, 0, SAMPLE_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public static ThreadUsage start(String context) {
+        return new ThreadUsage(context);
+    }
+
+    private void sample() {
+        peakHeapBytes.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+    }
+
+    // Stops sampling, records the run and returns the report
+    public String stop() {
+        sampler.shutdownNow();
+        sample();
+        int peakThreads = threads.getPeakThreadCount();
+        long peakHeapMb = peakHeapBytes.get() / (1024 * 1024);
+
+        String report = String.format("Thread usage (%s, %s threads): platform threads %d at start, peak %d; peak heap %d MB",
+                context, mode, threadsAtStart, peakThreads, peakHeapMb);
+        String previous = lastRun(otherMode());
+        if (previous != null) {
+            String[] columns = previous.split(",");
+            report += String.format("%n  last %s-thread run: peak %s threads, peak heap %s MB (%s)",
+                    otherMode(), columns[4], columns[5], columns[0]);
+        }
+        append(Instant.now() + "," + context + "," + mode + "," + threadsAtStart + "," + peakThreads + "," + peakHeapMb);
+        return report;
+    }
+
+    private String otherMode() {
+        return "virtual".equals(mode) ? "platform" : "virtual";
+    }
+
+    private static File historyFile() {
+        return new File(Config.PERF_HISTORY_DIR, "thread-usage-history.csv");
+    }
+
+    private String lastRun(String runMode) {
+        File file = historyFile();
+        if (!file.exists()) {
+            return null;
+        }
+        try {
+            List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+            for (int i = lines.size() - 1; i > 0; i--) {
+                String[] columns = lines.get(i).split(",");
+                if (columns.length == 6 && columns[1].equals(context) && columns[2].equals(runMode)) {
+                    return lines.get(i);
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Could not read thread usage history: " + e.getMessage());
+        }
+        return null;
+    }
+
+    private static void append(String line) {
+        File file = historyFile();
+        try {
+            Files.createDirectories(file.getParentFile().toPath());
+            String text = (file.exists() ? "" : "runAt,context,mode,threadsAtStart,peakThreads,peakHeapMb\n") + line + "\n";
+            Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.out.println("Could not write thread usage history: " + e.getMessage());
+        }
+    }
+}
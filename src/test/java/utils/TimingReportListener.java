@@ -0,0 +1,23 @@
+package utils;
+
+import java.io.File;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * Writes the step timing report next to the surefire/TestNG output when a suite finishes.
+ */
+public class TimingReportListener implements ISuiteListener {
+
+    @Override
+    public void onFinish(ISuite suite) {
+        File suiteDir = new File(suite.getOutputDirectory());
+        File reportDir = suiteDir.getParentFile() != null ? suiteDir.getParentFile() : suiteDir;
+        try {
+            StepTimings.writeReport(reportDir);
+            System.out.println("Step timing report written to " + reportDir.getAbsolutePath());
+        } catch (Exception e) {
+            System.out.println("Could not write step timing report: " + e.getMessage());
+        }
+    }
+}
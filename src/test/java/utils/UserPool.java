@@ -0,0 +1,199 @@
+package utils;
+
+import config.Config;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Registration data generated ahead of the tests instead of inside the registration form.
+ *
+ * users.poolSize users are generated up front from users.seed; each user depends only on the
+ * seed and its index, so a run is reproduced by passing the seed it logged (-Dusers.seed=N).
+ * Passwords are 16 random characters from all four character classes, which the shop's
+ * strength meter always rates strong, so the form never has to re-type a weaker one.
+ * checkout() is a single atomic increment into the pre-generated array, and parallel workers
+ * never wait on each other; past the end of the pool users are generated on demand.
+ *
+ * With users.store set to a file, accounts that registered successfully are saved there with
+ * their shop URL. Later runs against the same shop can log in with them through
+ * LoginPage.login instead of registering, and never hand out an already registered email.
+ */
+public final class UserPool {
+    private static final Logger log = LoggerFactory.getLogger(UserPool.class);
+    private static final String[] FIRST_NAMES = {"Alice", "Bruno", "Chloe", "Daniel", "Elena", "Farid", "Grace",
+            "Hugo", "Ines", "Jonas", "Karim", "Lena", "Mateo", "Nora", "Omar", "Paula"};
+    private static final String[] LAST_NAMES = {"Andersen", "Baker", "Costa", "Dubois", "Evans", "Fischer", "Garcia",
+            "Hansen", "Ivanova", "Jensen", "Kowalski", "Larsen", "Moreau", "Novak", "Okafor", "Petrov"};
+    private static final String UPPERCASE = "ABCDEFGHJKLMNPQRSTUVWXYZ";
+    private static final String LOWERCASE = "abcdefghijkmnopqrstuvwxyz";
+    private static final String DIGITS = "23456789";
+    private static final String SPECIAL = "!@#$%^&*";
+    private static final int PASSWORD_LENGTH = 16;
+
+    private static volatile UserPool shared;
+
+    private final long seed;
+    private final TestUser[] users;
+    private final AtomicInteger next = new AtomicInteger();
+    private final File store;
+    private final List<Map<String, Object>> registered = new CopyOnWriteArrayList<>();
+    private final Set<String> registeredEmails = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger nextRegistered = new AtomicInteger();
+
+    public UserPool(long seed, int size, File store) {
+        this.seed = seed;
+        this.store = store;
+        users = new TestUser[Math.max(0, size)];
+        for (int index = 0; index < users.length; index++) {
+            users[index] = generate(index);
+        }
+        if (store != null) {
+            load();
+        }
+    }
+
+    public static UserPool shared() {
+        if (shared == null) {
+            synchronized (UserPool.class) {
+                if (shared == null) {
+                    String storePath = Config.USER_STORE;
+                    shared = new UserPool(Config.USER_SEED, Config.USER_POOL_SIZE,
+                            storePath.isEmpty() ? null : new File(storePath));
+                    log.info("User pool: {} users generated from seed {} (-Dusers.seed={} reproduces them){}",
+                            Config.USER_POOL_SIZE, Config.USER_SEED, Config.USER_SEED,
+                            storePath.isEmpty() ? "" : ", registered accounts kept in " + storePath);
+                }
+            }
+        }
+        return shared;
+    }
+
+    // A user nobody has registered yet
+    public TestUser checkout() {
+        while (true) {
+            int index = next.getAndIncrement();
+            TestUser user = index < users.length ? users[index] : generate(index);
+            // Only a fixed seed replayed against a stored shop can produce an email that is already taken
+            if (!registeredEmails.contains(user.getEmail())) {
+                return user;
+            }
+        }
+    }
+
+    // Records an account the shop accepted; only kept when a store is configured
+    public void recordRegistered(TestUser user, String shopUrl) {
+        if (store == null || !registeredEmails.add(user.getEmail())) {
+            return;
+        }
+        Map<String, Object> entry = new LinkedHashMap<>(user.toMap());
+        entry.put("shopUrl", shopUrl);
+        entry.put("registeredAt", Instant.now().toString());
+        registered.add(entry);
+        save();
+    }
+
+    public boolean persistsAccounts() {
+        return store != null;
+    }
+
+    // A previously registered account of this shop, taken round-robin, for login flows
+    public Optional<TestUser> registeredUser(String shopUrl) {
+        List<TestUser> candidates = new ArrayList<>();
+        for (Map<String, Object> entry : registered) {
+            if (shopUrl.equals(entry.get("shopUrl"))) {
+                candidates.add(TestUser.fromMap(entry));
+            }
+        }
+        if (candidates.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(candidates.get(Math.floorMod(nextRegistered.getAndIncrement(), candidates.size())));
+    }
+
+    // Shop the driver is on, keyed like SessionSnapshot so the demo's per-visitor instances stay apart
+    public static String shopUrl(WebDriver driver) {
+        return (String) ((JavascriptExecutor) driver).executeScript("return window.location.origin + '/';");
+    }
+
+    private TestUser generate(int index) {
+        SplittableRandom random = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + index);
+        String firstName = pick(random, FIRST_NAMES);
+        String lastName = pick(random, LAST_NAMES);
+        String email = String.format("testuser_%08x%04x@test.com", random.nextInt(), index & 0xffff);
+        LocalDate birthdate = LocalDate.of(1950, 1, 1).plusDays(random.nextInt(50 * 365));
+        return new TestUser(firstName, lastName, email, password(random), birthdate.toString());
+    }
+
+    private static String password(SplittableRandom random) {
+        String all = UPPERCASE + LOWERCASE + DIGITS + SPECIAL;
+        char[] password = new char[PASSWORD_LENGTH];
+        password[0] = pick(random, UPPERCASE);
+        password[1] = pick(random, LOWERCASE);
+        password[2] = pick(random, DIGITS);
+        password[3] = pick(random, SPECIAL);
+        for (int i = 4; i < password.length; i++) {
+            password[i] = pick(random, all);
+        }
+        for (int i = password.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            char swap = password[i];
+            password[i] = password[j];
+            password[j] = swap;
+        }
+        return new String(password);
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static char pick(SplittableRandom random, String characters) {
+        return characters.charAt(random.nextInt(characters.length()));
+    }
+
+    private void load() {
+        if (!store.exists()) {
+            return;
+        }
+        try {
+            String json = new String(Files.readAllBytes(store.toPath()), StandardCharsets.UTF_8);
+            List<Map<String, Object>> entries = new Json().toType(json, Json.LIST_OF_MAPS_TYPE);
+            for (Map<String, Object> entry : entries) {
+                registered.add(entry);
+                registeredEmails.add((String) entry.get("email"));
+            }
+        } catch (Exception e) {
+            log.warn("Ignoring unreadable user store {}: {}", store, e.getMessage());
+        }
+    }
+
+    private synchronized void save() {
+        try {
+            if (store.getParentFile() != null) {
+                Files.createDirectories(store.getParentFile().toPath());
+            }
+            Files.write(store.toPath(), new Json().toJson(new ArrayList<>(registered)).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            log.warn("Could not save user store {}: {}", store, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package utils;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.testng.IExecutorServiceFactory;
+
+/**
+ * Runs TestNG's parallel test methods and data-provider rows on virtual threads (see
+ * {@link Concurrency}), still limited to the configured thread count. Falls back to TestNG's
+ * own platform thread pool when virtual threads are off or unavailable.
+ *
+ * Installed with TestNG's -threadpoolfactoryclass option (see the virtual-suite profile in
+ * pom.xml); Surefire has no setting for it, so plain mvn test runs use TestNG's own pool.
+ */
+public class VirtualThreadExecutorFactory implements IExecutorServiceFactory {
+
+    @Override
+    public ExecutorService create(int corePoolSize, int maximumPoolSize, long keepAliveTime, TimeUnit unit,
+                                  BlockingQueue<Runnable> workQueue, ThreadFactory threadFactory) {
+        if (Concurrency.useVirtualThreads()) {
+            // TestNG recognises its worker threads by the "TestNG" in their name
+            return Concurrency.newExecutor("TestNG-virtual", maximumPoolSize);
+        }
+        return new ThreadPoolExecutor(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory);
+    }
+}
@@ -1,34 +1,193 @@
 package utils;
 
 import config.Config;
-import io.github.bonigarcia.wdm.WebDriverManager;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.remote.http.Filter;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
 import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
 import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
+import org.openqa.selenium.support.events.EventFiringDecorator;
 
+/**
+ * Creates drivers for the configured browser (-Dbrowser): chrome, chrome-headless-shell,
+ * firefox or edge. Each engine gets a performance profile: headless unless -Dheadless=false
+ * (new headless mode for Chromium), no GPU, extensions, first-run UI or background traffic,
+ * and the page load strategy from -Dpage.load.
+ */
 public class WebDriverFactory {
+    // Skip first-run UI, background services and component updates that only slow down browser launch
+    private static final String[] FAST_LAUNCH_FLAGS = {
+            "--no-first-run",
+            "--no-default-browser-check",
+            "--disable-extensions",
+            "--disable-component-update",
+            "--disable-background-networking",
+            "--disable-default-apps",
+            "--disable-sync",
+            "--disable-gpu",
+            "--disable-features=Translate,OptimizationHints,MediaRouter",
+            "--password-store=basic",
+            "--use-mock-keychain",
+            "--mute-audio"
+    };
+
     public static WebDriver createDriver() {
         WebDriver driver;
         switch (Config.BROWSER.toLowerCase()) {
-            case "chrome":
-            default:
-                WebDriverManager.chromedriver().setup();
-                ChromeOptions chromeOptions = new ChromeOptions();
-                if (Config.HEADLESS) {
-                    chromeOptions.addArguments("--headless");
+            case "chrome-headless-shell":
+            case "headless-shell":
+                if (Config.BROWSER_BINARY.isEmpty()) {
+                    throw new IllegalStateException("chrome-headless-shell needs -Dbrowser.binary=<path to chrome-headless-shell>");
                 }
-                chromeOptions.addArguments("--no-sandbox");
-                chromeOptions.addArguments("--disable-dev-shm-usage");
-                chromeOptions.addArguments("--window-size=1920,1080");
-                chromeOptions.addArguments("--remote-allow-origins=*");
-                driver = new ChromeDriver(chromeOptions);
+                // The shell is headless by construction and takes no --headless flag
+                ChromeOptions shellOptions = chromiumProfile(new ChromeOptions(), false);
+                driver = StepTimings.time(StepTimings.Category.STEP, "WebDriverFactory.launch chrome-headless-shell",
+                        () -> new ChromeDriver(chromeService(), shellOptions));
+                break;
+            case "firefox":
+                FirefoxOptions firefoxOptions = firefoxProfile();
+                GeckoDriverService geckoService = new GeckoDriverService.Builder()
+                        .usingDriverExecutable(DriverServices.geckodriverBinary())
+                        .build();
+                driver = StepTimings.time(StepTimings.Category.STEP, "WebDriverFactory.launch firefox",
+                        () -> new FirefoxDriver(geckoService, firefoxOptions));
                 break;
+            case "edge":
+                EdgeOptions edgeOptions = chromiumProfile(new EdgeOptions(), Config.HEADLESS);
+                EdgeDriverService edgeService = new EdgeDriverService.Builder()
+                        .usingDriverExecutable(DriverServices.edgedriverBinary())
+                        .build();
+                driver = StepTimings.time(StepTimings.Category.STEP, "WebDriverFactory.launch edge",
+                        () -> new EdgeDriver(edgeService, edgeOptions));
+                break;
+            case "chrome":
+                ChromeOptions chromeOptions = chromiumProfile(new ChromeOptions(), Config.HEADLESS);
+                driver = StepTimings.time(StepTimings.Category.STEP, "WebDriverFactory.launch chrome",
+                        () -> new ChromeDriver(chromeService(), chromeOptions));
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported browser: " + Config.BROWSER
+                        + " (expected chrome, chrome-headless-shell, firefox or edge)");
         }
-        driver.manage().window().maximize();
+        installQuiescenceProbe(driver);
+        interceptNetwork(driver);
+        if (Config.TIME_COMMANDS) {
+            driver = new EventFiringDecorator<>(new CommandTimingListener()).decorate(driver);
+        }
+        // Keyed by the driver handed to the pages, so after decoration
+        PageWeight.track(driver);
         return driver;
     }
+
+    private static <T extends ChromiumOptions<T>> T chromiumProfile(T options, boolean headless) {
+        if (headless) {
+            options.addArguments("--headless=new");
+        }
+        if (!Config.BROWSER_BINARY.isEmpty()) {
+            options.setBinary(Config.BROWSER_BINARY);
+        }
+        options.addArguments("--no-sandbox");
+        options.addArguments("--disable-dev-shm-usage");
+        // Sized at launch, so no separate maximize() round-trip afterwards
+        options.addArguments("--window-size=1920,1080");
+        options.addArguments("--remote-allow-origins=*");
+        // Keep the browser console so FailureArtifacts can attach it to failed tests
+        LoggingPreferences logging = new LoggingPreferences();
+        logging.enable(LogType.BROWSER, Level.ALL);
+        options.setCapability(options instanceof EdgeOptions ? EdgeOptions.LOGGING_PREFS : ChromeOptions.LOGGING_PREFS, logging);
+        options.addArguments(FAST_LAUNCH_FLAGS);
+        options.setPageLoadStrategy(pageLoadStrategy());
+        return options;
+    }
+
+    private static FirefoxOptions firefoxProfile() {
+        FirefoxOptions options = new FirefoxOptions();
+        if (Config.HEADLESS) {
+            options.addArguments("-headless");
+        }
+        if (!Config.BROWSER_BINARY.isEmpty()) {
+            options.setBinary(Config.BROWSER_BINARY);
+        }
+        options.addArguments("--width=1920", "--height=1080");
+        // Firefox equivalents of the Chromium launch flags: no first-run pages, telemetry, updates or prefetching
+        options.addPreference("browser.shell.checkDefaultBrowser", false);
+        options.addPreference("browser.startup.page", 0);
+        options.addPreference("browser.aboutwelcome.enabled", false);
+        options.addPreference("datareporting.policy.dataSubmissionEnabled", false);
+        options.addPreference("toolkit.telemetry.enabled", false);
+        options.addPreference("app.update.auto", false);
+        options.addPreference("extensions.update.enabled", false);
+        options.addPreference("browser.safebrowsing.malware.enabled", false);
+        options.addPreference("browser.safebrowsing.phishing.enabled", false);
+        options.addPreference("network.prefetch-next", false);
+        options.addPreference("layers.acceleration.disabled", true);
+        options.setPageLoadStrategy(pageLoadStrategy());
+        return options;
+    }
+
+    private static PageLoadStrategy pageLoadStrategy() {
+        PageLoadStrategy strategy = PageLoadStrategy.fromString(Config.PAGE_LOAD_STRATEGY);
+        if (strategy == null) {
+            throw new IllegalArgumentException("Unknown page load strategy: " + Config.PAGE_LOAD_STRATEGY
+                    + " (expected normal, eager or none)");
+        }
+        return strategy;
+    }
+
+    // Chrome and chrome-headless-shell both run on chromedriver, shared across sessions unless disabled
+    private static ChromeDriverService chromeService() {
+        return Config.SHARED_DRIVER_SERVICE
+                ? DriverServices.chrome()
+                : new ChromeDriverService.Builder().usingDriverExecutable(DriverServices.chromedriverBinary()).build();
+    }
+
+    // Resource blocking and the record-and-replay asset cache share one CDP interceptor, blocking first.
+    // The interception runs over CDP rather than an HTTP proxy because the demo shop is HTTPS-only
+    // and a plain proxy would only see opaque CONNECT tunnels.
+    private static void interceptNetwork(WebDriver driver) {
+        ResourceBlocker blocker = ResourceBlocker.shared();
+        if (!Config.ASSET_CACHE && !blocker.isActive()) {
+            return;
+        }
+        if (!(driver instanceof HasDevTools)) {
+            System.out.println("Request interception needs a DevTools-capable browser, skipping for " + Config.BROWSER);
+            return;
+        }
+
+        Filter filter = blocker.filter();
+        if (Config.ASSET_CACHE) {
+            filter = filter.andThen(AssetCache.shared().filter());
+        }
+        new NetworkInterceptor(driver, filter);
+    }
+
+    // Install the XHR/fetch/mutation probe before page scripts run, so requests fired during load are counted
+    private static void installQuiescenceProbe(WebDriver driver) {
+        if (!(driver instanceof HasCdp)) {
+            return;
+        }
+        try {
+            Map<String, Object> params = new HashMap<>();
+            params.put("source", QuiescenceWait.PROBE_SCRIPT);
+            ((HasCdp) driver).executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", params);
+        } catch (Exception e) {
+            System.out.println("Could not install quiescence probe, it will be injected on first use: " + e.getMessage());
+        }
+    }
 }
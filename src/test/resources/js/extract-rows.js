@@ -0,0 +1,39 @@
+// Extracts structured rows in one call. arguments[0] is the row selector, arguments[1] maps
+// field name to a selector inside the row, arguments[2] maps extra page-level values to a
+// selector in the document. Inputs yield their value, links their href, images their src,
+// everything else its trimmed text.
+var rowSelector = arguments[0];
+var fields = arguments[1] || {};
+var extras = arguments[2] || {};
+
+function valueOf(element, field) {
+    if (!element) {
+        return null;
+    }
+    if (field === 'url') {
+        var link = element.tagName === 'A' ? element : element.querySelector('a');
+        return link ? link.href : null;
+    }
+    if (element.tagName === 'IMG') {
+        return element.currentSrc || element.src || element.getAttribute('data-src');
+    }
+    if (element.tagName === 'INPUT' || element.tagName === 'SELECT') {
+        return element.value;
+    }
+    return (element.textContent || '').replace(/\s+/g, ' ').trim();
+}
+
+var rows = Array.prototype.map.call(document.querySelectorAll(rowSelector), function (row) {
+    var values = {};
+    Object.keys(fields).forEach(function (field) {
+        values[field] = valueOf(row.querySelector(fields[field]), field);
+    });
+    return values;
+});
+
+var extraValues = {};
+Object.keys(extras).forEach(function (name) {
+    extraValues[name] = valueOf(document.querySelector(extras[name]), name);
+});
+
+return {rows: rows, extras: extraValues};
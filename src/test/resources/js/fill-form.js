@@ -0,0 +1,51 @@
+// Fills named form fields in one call. arguments[0] maps field name to value: strings set
+// text inputs/selects or pick a radio by value, booleans set checkboxes. Returns which
+// fields were filled, which rejected the value and which do not exist on the page.
+var fields = arguments[0];
+var result = {filled: [], rejected: [], absent: []};
+
+function fire(element, type) {
+    element.dispatchEvent(new Event(type, {bubbles: true}));
+}
+
+Object.keys(fields).forEach(function (name) {
+    var value = fields[name];
+    var elements = document.querySelectorAll('[name="' + CSS.escape(name) + '"]');
+    if (!elements.length) {
+        result.absent.push(name);
+        return;
+    }
+    var element = elements[0];
+    var ok;
+
+    if (element.type === 'radio') {
+        var radio = Array.prototype.filter.call(elements, function (candidate) {
+            return candidate.value === String(value);
+        })[0];
+        if (!radio) {
+            result.absent.push(name);
+            return;
+        }
+        if (!radio.checked) {
+            radio.click();
+        }
+        ok = radio.checked;
+    } else if (element.type === 'checkbox') {
+        if (element.checked !== Boolean(value)) {
+            element.click();
+        }
+        ok = element.checked === Boolean(value);
+    } else {
+        // Use the native setter so framework-managed inputs notice the change
+        var prototype = element instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype
+            : element instanceof HTMLSelectElement ? HTMLSelectElement.prototype
+            : HTMLInputElement.prototype;
+        Object.getOwnPropertyDescriptor(prototype, 'value').set.call(element, String(value));
+        fire(element, 'input');
+        fire(element, 'change');
+        ok = element.value === String(value);
+    }
+    (ok ? result.filled : result.rejected).push(name);
+});
+
+return result;
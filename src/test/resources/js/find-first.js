@@ -0,0 +1,56 @@
+// Returns [index, element, millis, hits] for the first locator in arguments[0] that matches in the
+// current document; index is -1 and element null when none does. Each locator is [using, value] as
+// in the WebDriver protocol, so a miss costs no NoSuchElementException and is not subject to the
+// implicit wait. millis and hits describe every locator tried: those up to the match, or all of
+// them when arguments[1] is true (the locator audit).
+var locators = arguments[0];
+var tryAll = arguments[1];
+
+function escape(value) {
+    return window.CSS && CSS.escape ? CSS.escape(value) : value.replace(/(["\\])/g, '\\$1');
+}
+
+function byLinkText(text, partial) {
+    var links = document.getElementsByTagName('a');
+    for (var i = 0; i < links.length; i++) {
+        var linkText = (links[i].innerText || links[i].textContent || '').trim();
+        if (partial ? linkText.indexOf(text) >= 0 : linkText === text) {
+            return links[i];
+        }
+    }
+    return null;
+}
+
+function find(using, value) {
+    switch (using) {
+        case 'id':
+            return document.getElementById(value);
+        case 'name':
+            return document.querySelector('[name="' + escape(value) + '"]');
+        case 'class name':
+            return document.getElementsByClassName(value)[0] || null;
+        case 'tag name':
+            return document.getElementsByTagName(value)[0] || null;
+        case 'xpath':
+            return document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;
+        case 'link text':
+            return byLinkText(value, false);
+        case 'partial link text':
+            return byLinkText(value, true);
+        default:
+            return document.querySelector(value);
+    }
+}
+
+var index = -1, first = null, millis = [], hits = [];
+for (var i = 0; i < locators.length && (index < 0 || tryAll); i++) {
+    var start = performance.now();
+    var element = find(locators[i][0], locators[i][1]);
+    millis.push(performance.now() - start);
+    hits.push(!!element);
+    if (element && index < 0) {
+        index = i;
+        first = element;
+    }
+}
+return [index, first, millis, hits];
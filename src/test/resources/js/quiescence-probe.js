@@ -0,0 +1,45 @@
+// Tracks in-flight XHR/fetch requests and the time of the last DOM mutation.
+// Installed at document start through CDP when possible, otherwise on first use.
+(function () {
+    if (window.__quiescence) {
+        return;
+    }
+    var state = window.__quiescence = {pending: 0, lastMutation: Date.now()};
+
+    function done() {
+        state.pending = Math.max(0, state.pending - 1);
+    }
+
+    var originalSend = XMLHttpRequest.prototype.send;
+    XMLHttpRequest.prototype.send = function () {
+        state.pending++;
+        this.addEventListener('loadend', done);
+        return originalSend.apply(this, arguments);
+    };
+
+    if (window.fetch) {
+        var originalFetch = window.fetch;
+        window.fetch = function () {
+            state.pending++;
+            return originalFetch.apply(this, arguments).then(function (response) {
+                done();
+                return response;
+            }, function (error) {
+                done();
+                throw error;
+            });
+        };
+    }
+
+    function observe() {
+        new MutationObserver(function () {
+            state.lastMutation = Date.now();
+        }).observe(document.documentElement, {childList: true, subtree: true, attributes: true, characterData: true});
+    }
+
+    if (document.documentElement) {
+        observe();
+    } else {
+        document.addEventListener('DOMContentLoaded', observe);
+    }
+})();
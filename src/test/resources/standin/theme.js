@@ -0,0 +1,42 @@
+// Minimal behaviour of the PrestaShop classic theme used by the page objects
+(function () {
+    var password = document.querySelector("#customer-form input[name='password']");
+    if (password) {
+        password.addEventListener('input', function () {
+            var value = password.value;
+            var strong = value.length >= 8 && /[A-Z]/.test(value) && /[a-z]/.test(value)
+                && /[0-9]/.test(value) && /[^A-Za-z0-9]/.test(value);
+            document.querySelector('.password-strength').textContent = strong ? 'Strong' : 'Weak';
+        });
+    }
+
+    var form = document.getElementById('add-to-cart-or-refresh');
+    if (form) {
+        form.addEventListener('submit', function (event) {
+            event.preventDefault();
+            fetch('/cart', {
+                method: 'POST',
+                headers: {'Content-Type': 'application/x-www-form-urlencoded'},
+                body: new URLSearchParams(new FormData(form)).toString()
+            }).then(function (response) {
+                return response.text();
+            }).then(function (count) {
+                document.querySelector('.shopping-cart').textContent = 'Cart (' + count + ')';
+                var modal = document.getElementById('blockcart-modal');
+                modal.style.display = 'block';
+                requestAnimationFrame(function () {
+                    modal.classList.add('in');
+                });
+            });
+        });
+    }
+
+    var dismiss = document.querySelector("[data-dismiss='modal']");
+    if (dismiss) {
+        dismiss.addEventListener('click', function () {
+            var modal = document.getElementById('blockcart-modal');
+            modal.classList.remove('in');
+            modal.style.display = 'none';
+        });
+    }
+})();